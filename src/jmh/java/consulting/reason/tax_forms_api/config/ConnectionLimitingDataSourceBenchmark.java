@@ -0,0 +1,114 @@
+package consulting.reason.tax_forms_api.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Each operation serves a burst of concurrent clients that each hold a pooled connection for a simulated query.
+// It measures the limiter against a simulated pool only; it is not a load test of Tomcat in either thread mode.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConnectionLimitingDataSourceBenchmark {
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long QUERY_MILLIS = 5;
+
+    @Param({"1000", "5000"})
+    private int clients;
+    @Param({"platform", "virtual"})
+    private String threads;
+    @Param({"false", "true"})
+    private boolean limited;
+
+    private ExecutorService executor;
+    private DataSource dataSource;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        SimulatedPool pool = new SimulatedPool(POOL_SIZE);
+        dataSource = limited
+                ? new ConnectionLimitingDataSource(pool, POOL_SIZE, Duration.ofSeconds(30))
+                : pool;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long serveClients() throws Exception {
+        List<Future<Long>> requests = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            long submittedAt = System.nanoTime();
+            requests.add(executor.submit(() -> {
+                try (Connection ignored = dataSource.getConnection()) {
+                    Thread.sleep(QUERY_MILLIS);
+                }
+                return System.nanoTime() - submittedAt;
+            }));
+        }
+
+        long maxLatency = 0;
+        for (Future<Long> request : requests) {
+            maxLatency = Math.max(maxLatency, request.get());
+        }
+        return maxLatency;
+    }
+
+    private static class SimulatedPool extends AbstractDataSource {
+        private final Semaphore connections;
+
+        private SimulatedPool(int size) {
+            this.connections = new Semaphore(size);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                if (!connections.tryAcquire(30, TimeUnit.SECONDS)) {
+                    throw new SQLTransientConnectionException("Simulated pool timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException(e);
+            }
+
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            connections.release();
+                        }
+                        return null;
+                    }
+            );
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package consulting.reason.tax_forms_api.dto;
+
+import io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Measures the JSONB (de)serialization done by the JsonType mapped on TaxForm.details
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxFormDetailsJsonTypeBenchmark {
+    private ObjectMapperWrapper objectMapperWrapper;
+    private TaxFormDetailsDto taxFormDetailsDto;
+    private String taxFormDetailsJson;
+
+    @Setup
+    public void setup() {
+        objectMapperWrapper = ObjectMapperWrapper.INSTANCE;
+        taxFormDetailsDto = TaxFormDetailsDto.builder()
+                .assessedValue(100)
+                .appraisedValue(200L)
+                .ratio(0.5)
+                .comments("c".repeat(500))
+                .build();
+        taxFormDetailsJson = objectMapperWrapper.toString(taxFormDetailsDto);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return objectMapperWrapper.toString(taxFormDetailsDto);
+    }
+
+    @Benchmark
+    public TaxFormDetailsDto deserialize() {
+        return objectMapperWrapper.fromString(taxFormDetailsJson, TaxFormDetailsDto.class);
+    }
+}
@@ -0,0 +1,74 @@
+package consulting.reason.tax_forms_api.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxFormDtoSerializationBenchmark {
+    @Param({"0", "10", "100"})
+    private int historySize;
+
+    private ObjectMapper objectMapper;
+    private TaxFormDto taxFormDto;
+    private String taxFormJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        // Mirrors the Spring Boot defaults used when serializing controller responses
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<TaxFormHistoryDto> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            history.add(TaxFormHistoryDto.builder()
+                    .id(i)
+                    .taxFormId(1)
+                    .createdAt(ZonedDateTime.now())
+                    .type(TaxFormHistoryType.values()[i % TaxFormHistoryType.values().length])
+                    .build());
+        }
+
+        taxFormDto = TaxFormDto.builder()
+                .id(1)
+                .formYear(2024)
+                .formName("Form AV 2024-RCC")
+                .status(TaxFormStatus.SUBMITTED)
+                .details(TaxFormDetailsDto.builder()
+                        .assessedValue(100)
+                        .appraisedValue(200L)
+                        .ratio(0.5)
+                        .comments("Benchmark")
+                        .build())
+                .createdAt(ZonedDateTime.now())
+                .updatedAt(ZonedDateTime.now())
+                .history(history)
+                .build();
+        taxFormJson = objectMapper.writeValueAsString(taxFormDto);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taxFormDto);
+    }
+
+    @Benchmark
+    public TaxFormDto deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(taxFormJson, TaxFormDto.class);
+    }
+}
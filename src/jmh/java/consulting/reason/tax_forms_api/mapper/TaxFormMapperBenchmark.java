@@ -0,0 +1,72 @@
+package consulting.reason.tax_forms_api.mapper;
+
+import consulting.reason.tax_forms_api.config.ModelMapperConfig;
+import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.entity.TaxFormHistory;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxFormMapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int historySize;
+
+    private ModelMapper modelMapper;
+    private TaxFormMapper taxFormMapper;
+    private TaxForm taxForm;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        taxFormMapper = new TaxFormMapper();
+        taxForm = TaxForm.builder()
+                .id(1)
+                .formYear(2024)
+                .formName("Form AV 2024-RCC")
+                .status(TaxFormStatus.SUBMITTED)
+                .details(TaxFormDetailsDto.builder()
+                        .assessedValue(100)
+                        .appraisedValue(200L)
+                        .ratio(0.5)
+                        .comments("Benchmark")
+                        .build())
+                .createdAt(ZonedDateTime.now())
+                .updatedAt(ZonedDateTime.now())
+                .build();
+
+        List<TaxFormHistory> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            history.add(TaxFormHistory.builder()
+                    .id(i)
+                    .taxForm(taxForm)
+                    .createdAt(ZonedDateTime.now())
+                    .type(TaxFormHistoryType.values()[i % TaxFormHistoryType.values().length])
+                    .build());
+        }
+        taxForm.setHistory(history);
+    }
+
+    @Benchmark
+    public TaxFormDto modelMapper() {
+        return modelMapper.map(taxForm, TaxFormDto.class);
+    }
+
+    @Benchmark
+    public TaxFormDto taxFormMapper() {
+        return taxFormMapper.toDto(taxForm);
+    }
+}
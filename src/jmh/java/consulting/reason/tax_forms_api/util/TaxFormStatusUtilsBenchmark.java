@@ -0,0 +1,72 @@
+package consulting.reason.tax_forms_api.util;
+
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.exception.TaxFormStatusException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxFormStatusUtilsBenchmark {
+    private TaxForm taxForm;
+
+    @Setup
+    public void setup() {
+        taxForm = TaxForm.builder()
+                .id(1)
+                .formYear(2024)
+                .formName("Form AV 2024-RCC")
+                .status(TaxFormStatus.NOT_STARTED)
+                .build();
+    }
+
+    @Benchmark
+    public TaxFormStatus save() {
+        taxForm.setStatus(TaxFormStatus.NOT_STARTED);
+        TaxFormStatusUtils.save(taxForm);
+        return taxForm.getStatus();
+    }
+
+    @Benchmark
+    public TaxFormStatus submit() {
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+        TaxFormStatusUtils.submit(taxForm);
+        return taxForm.getStatus();
+    }
+
+    @Benchmark
+    public TaxFormStatus returnForm() {
+        taxForm.setStatus(TaxFormStatus.SUBMITTED);
+        TaxFormStatusUtils.returnForm(taxForm);
+        return taxForm.getStatus();
+    }
+
+    @Benchmark
+    public TaxFormStatus accept() {
+        taxForm.setStatus(TaxFormStatus.SUBMITTED);
+        TaxFormStatusUtils.accept(taxForm);
+        return taxForm.getStatus();
+    }
+
+    @Benchmark
+    public boolean canTransitionRejected() {
+        return TaxFormStatusUtils.canTransition(TaxFormStatus.ACCEPTED, TaxFormStatus.SUBMITTED);
+    }
+
+    @Benchmark
+    public Object submitRejected() {
+        taxForm.setStatus(TaxFormStatus.ACCEPTED);
+        try {
+            TaxFormStatusUtils.submit(taxForm);
+            return taxForm.getStatus();
+        } catch (TaxFormStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package consulting.reason.tax_forms_api.cache;
+
+import consulting.reason.tax_forms_api.config.CacheConfig;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class TaxFormCache {
+    private final CacheManager cacheManager;
+
+    public TaxFormCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public Optional<TaxFormDto> get(Integer id) {
+        Cache cache = cacheManager.getCache(CacheConfig.TAX_FORMS_CACHE);
+        if (cache == null) {
+            return Optional.empty();
+        }
+
+        Cache.ValueWrapper valueWrapper = cache.get(id);
+        return valueWrapper != null && valueWrapper.get() instanceof TaxFormDto taxFormDto
+                ? Optional.of(taxFormDto)
+                : Optional.empty();
+    }
+
+    // A load that read the row before a write committed can finish after that write's eviction,
+    // so a form is only cached when no newer version has been cached or evicted
+    public void put(TaxFormDto taxFormDto) {
+        ConcurrentMap<Object, Object> entries = entries();
+        if (entries != null) {
+            entries.compute(taxFormDto.getId(), (id, existing) ->
+                    existing == null || version(existing) <= taxFormDto.getVersion() ? taxFormDto : existing);
+        }
+    }
+
+    // Evictions leave the committed version behind, so a slower load of an older version cannot be cached over it
+    public void evict(Integer id, Integer version) {
+        ConcurrentMap<Object, Object> entries = entries();
+        if (entries == null) {
+            return;
+        }
+
+        if (version == null) {
+            entries.remove(id);
+        } else {
+            entries.compute(id, (key, existing) ->
+                    existing != null && version(existing) > version ? existing : new Evicted(version));
+        }
+    }
+
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(CacheConfig.TAX_FORMS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> entries() {
+        Cache cache = cacheManager.getCache(CacheConfig.TAX_FORMS_CACHE);
+        if (cache == null) {
+            return null;
+        }
+
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return (ConcurrentMap<Object, Object>) caffeineCache.asMap();
+        }
+        if (nativeCache instanceof ConcurrentMap<?, ?> concurrentMap) {
+            return (ConcurrentMap<Object, Object>) concurrentMap;
+        }
+
+        return null;
+    }
+
+    private int version(Object entry) {
+        return entry instanceof TaxFormDto taxFormDto ? taxFormDto.getVersion() : ((Evicted) entry).getVersion();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Evicted {
+        private final int version;
+    }
+}
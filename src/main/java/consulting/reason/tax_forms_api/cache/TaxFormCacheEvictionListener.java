@@ -0,0 +1,20 @@
+package consulting.reason.tax_forms_api.cache;
+
+import consulting.reason.tax_forms_api.event.TaxFormChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class TaxFormCacheEvictionListener {
+    private final TaxFormCache taxFormCache;
+
+    public TaxFormCacheEvictionListener(TaxFormCache taxFormCache) {
+        this.taxFormCache = taxFormCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaxFormChanged(TaxFormChangedEvent event) {
+        taxFormCache.evict(event.getId(), event.getVersion());
+    }
+}
@@ -0,0 +1,118 @@
+package consulting.reason.tax_forms_api.cache;
+
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.event.TaxFormChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Component
+@ConditionalOnProperty(prefix = "tax-forms-api.notification", name = "enabled", havingValue = "true")
+public class TaxFormChangeListener implements SmartLifecycle {
+    private final Logger logger = LoggerFactory.getLogger(TaxFormChangeListener.class);
+    private final DataSourceProperties dataSourceProperties;
+    private final TaxFormCache taxFormCache;
+    private final TaxFormsApiProperties.Notification notification;
+    private volatile boolean running;
+    private Thread thread;
+
+    public TaxFormChangeListener(DataSourceProperties dataSourceProperties,
+                                 TaxFormCache taxFormCache,
+                                 TaxFormsApiProperties taxFormsApiProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.taxFormCache = taxFormCache;
+        this.notification = taxFormsApiProperties.getNotification();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("tax-form-change-listener")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = connect()) {
+                listen(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+
+                logger.warn("Lost the tax form notification connection, reconnecting", e);
+                try {
+                    Thread.sleep(notification.getReconnectDelay());
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // LISTEN holds its connection for the life of the node, so it is opened outside the pool and the limiter
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + notification.getChannel());
+        }
+
+        // Anything published while this node was not listening has been missed
+        taxFormCache.evictAll();
+
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(
+                    (int) notification.getPollTimeout().toMillis());
+            if (notifications == null) {
+                continue;
+            }
+
+            for (PGNotification pgNotification : notifications) {
+                evict(pgNotification.getParameter());
+            }
+        }
+    }
+
+    private void evict(String payload) {
+        try {
+            TaxFormChangedEvent event = TaxFormChangeNotifier.fromPayload(payload);
+            taxFormCache.evict(event.getId(), event.getVersion());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring tax form notification '{}'", payload, e);
+        }
+    }
+}
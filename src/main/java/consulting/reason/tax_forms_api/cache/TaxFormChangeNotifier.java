@@ -0,0 +1,51 @@
+package consulting.reason.tax_forms_api.cache;
+
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.event.TaxFormChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@ConditionalOnProperty(prefix = "tax-forms-api.notification", name = "enabled", havingValue = "true")
+public class TaxFormChangeNotifier {
+    private final JdbcTemplate jdbcTemplate;
+    private final TaxFormsApiProperties taxFormsApiProperties;
+
+    public TaxFormChangeNotifier(JdbcTemplate jdbcTemplate,
+                                 TaxFormsApiProperties taxFormsApiProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taxFormsApiProperties = taxFormsApiProperties;
+    }
+
+    // NOTIFY is transactional in Postgres, so it is only delivered to listeners once the write commits
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaxFormChanged(TaxFormChangedEvent event) {
+        jdbcTemplate.query(
+                "SELECT pg_notify(?, ?)",
+                resultSet -> null,
+                taxFormsApiProperties.getNotification().getChannel(),
+                toPayload(event)
+        );
+    }
+
+    public static String toPayload(TaxFormChangedEvent event) {
+        return "%d:%d:%d".formatted(event.getId(), event.getFormYear(), event.getVersion());
+    }
+
+    // Payloads without a version come from nodes that predate it and still evict the form
+    public static TaxFormChangedEvent fromPayload(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length != 2 && parts.length != 3) {
+            throw new IllegalArgumentException("Invalid tax form notification payload: " + payload);
+        }
+
+        return new TaxFormChangedEvent(
+                Integer.valueOf(parts[0]),
+                Integer.valueOf(parts[1]),
+                parts.length == 3 ? Integer.valueOf(parts[2]) : null
+        );
+    }
+}
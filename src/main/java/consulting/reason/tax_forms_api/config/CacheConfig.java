@@ -0,0 +1,10 @@
+package consulting.reason.tax_forms_api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String TAX_FORMS_CACHE = "taxForms";
+}
@@ -1,9 +1,13 @@
 package consulting.reason.tax_forms_api.config;
 
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.server.ResponseStatusException;
@@ -11,11 +15,28 @@ import org.springframework.web.server.ResponseStatusException;
 @ControllerAdvice
 public class ControllerExceptionHandler {
     private final Logger logger = LoggerFactory.getLogger(ControllerExceptionHandler.class);
+    private final ObjectProvider<TaxFormMetrics> taxFormMetrics;
+
+    public ControllerExceptionHandler(ObjectProvider<TaxFormMetrics> taxFormMetrics) {
+        this.taxFormMetrics = taxFormMetrics;
+    }
 
     @ExceptionHandler({ResponseStatusException.class})
     public ResponseEntity<String> handleException(ResponseStatusException e, HttpServletRequest request) {
         logger.error(String.format("%s occurred.", e.getClass().getName()), e);
+        taxFormMetrics.ifAvailable(metrics -> metrics.recordError(e.getClass().getSimpleName(), e.getStatusCode().value()));
 
         return new ResponseEntity<>(e.getMessage(), e.getStatusCode());
     }
+
+    @ExceptionHandler({ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleException(ObjectOptimisticLockingFailureException e, HttpServletRequest request) {
+        logger.warn(String.format("%s occurred.", e.getClass().getName()), e);
+        taxFormMetrics.ifAvailable(metrics -> metrics.recordError(e.getClass().getSimpleName(), HttpStatus.CONFLICT.value()));
+
+        return new ResponseEntity<>(
+                "Tax form %s was modified concurrently".formatted(e.getIdentifier()),
+                HttpStatus.CONFLICT
+        );
+    }
 }
@@ -1,12 +1,17 @@
 package consulting.reason.tax_forms_api.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import javax.sql.DataSource;
+import java.time.Duration;
+
 @Configuration
 public class DatasourceConfig {
     @Bean
@@ -16,12 +21,55 @@ public class DatasourceConfig {
         return new DataSourceProperties();
     }
 
+    // Untyped tax-forms-api.datasource.configuration.* entries are bound afterwards and win over the typed pool settings
     @Bean
-    @Primary
     @ConfigurationProperties(prefix = "tax-forms-api.datasource.configuration")
-    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
-        return dataSourceProperties.initializeDataSourceBuilder()
+    public HikariDataSource hikariDataSource(DataSourceProperties dataSourceProperties,
+                                             TaxFormsApiProperties taxFormsApiProperties) {
+        HikariDataSource hikariDataSource = dataSourceProperties.initializeDataSourceBuilder()
                 .type(HikariDataSource.class)
                 .build();
+        applyPool(hikariDataSource, taxFormsApiProperties.getPool());
+
+        return hikariDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource hikariDataSource, TaxFormsApiProperties taxFormsApiProperties) {
+        if (!taxFormsApiProperties.getConnectionLimiter().isEnabled()) {
+            return hikariDataSource;
+        }
+
+        // connectionTimeout is one budget shared by the wait for a permit and the wait inside Hikari
+        return new ConnectionLimitingDataSource(
+                hikariDataSource,
+                hikariDataSource.getMaximumPoolSize(),
+                Duration.ofMillis(hikariDataSource.getConnectionTimeout())
+        );
+    }
+
+    @Bean
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return meterRegistry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource connectionLimitingDataSource) {
+                Gauge.builder("tax_forms.connection_limiter.available", connectionLimitingDataSource, ConnectionLimitingDataSource::getAvailablePermits)
+                        .description("Connection permits available in front of the pool")
+                        .register(meterRegistry);
+                Gauge.builder("tax_forms.connection_limiter.queued", connectionLimitingDataSource, ConnectionLimitingDataSource::getQueueLength)
+                        .description("Threads waiting for a connection permit")
+                        .register(meterRegistry);
+            }
+        };
+    }
+
+    static void applyPool(HikariDataSource hikariDataSource, TaxFormsApiProperties.Pool pool) {
+        hikariDataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+        hikariDataSource.setMinimumIdle(pool.getMinimumIdle() == null ? pool.getMaximumPoolSize() : pool.getMinimumIdle());
+        hikariDataSource.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        hikariDataSource.setLeakDetectionThreshold(pool.getLeakDetectionThreshold().toMillis());
+        hikariDataSource.addDataSourceProperty("prepareThreshold", pool.getPrepareThreshold());
+        hikariDataSource.addDataSourceProperty("preparedStatementCacheQueries", pool.getPreparedStatementCacheQueries());
+        hikariDataSource.addDataSourceProperty("reWriteBatchedInserts", pool.isReWriteBatchedInserts());
     }
 }
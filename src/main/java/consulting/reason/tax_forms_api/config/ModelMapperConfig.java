@@ -48,6 +48,7 @@ public class ModelMapperConfig {
                     .details(taxForm.getDetails())
                     .createdAt(taxForm.getCreatedAt())
                     .updatedAt(taxForm.getUpdatedAt())
+                    .version(taxForm.getVersion())
                     .history(history)
                     .build();
         });
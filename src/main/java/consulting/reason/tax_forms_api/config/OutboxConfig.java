@@ -0,0 +1,27 @@
+package consulting.reason.tax_forms_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import consulting.reason.tax_forms_api.outbox.FileTaxFormOutboxSink;
+import consulting.reason.tax_forms_api.outbox.InMemoryTaxFormOutboxSink;
+import consulting.reason.tax_forms_api.outbox.TaxFormOutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(prefix = "tax-forms-api.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+    @Bean
+    @ConditionalOnMissingBean
+    public TaxFormOutboxSink taxFormOutboxSink(TaxFormsApiProperties taxFormsApiProperties, ObjectMapper objectMapper) {
+        TaxFormsApiProperties.Outbox outbox = taxFormsApiProperties.getOutbox();
+
+        return switch (outbox.getSink()) {
+            case MEMORY -> new InMemoryTaxFormOutboxSink();
+            case FILE -> new FileTaxFormOutboxSink(Path.of(outbox.getFile()), objectMapper);
+        };
+    }
+}
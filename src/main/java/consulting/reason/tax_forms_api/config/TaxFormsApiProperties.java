@@ -1,11 +1,156 @@
 package consulting.reason.tax_forms_api.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
+@Getter
+@Setter
 @Validated
 @Component
 @ConfigurationProperties(prefix = "tax-forms-api")
 public class TaxFormsApiProperties {
+    @Valid
+    private Pagination pagination = new Pagination();
+    @Valid
+    private Notification notification = new Notification();
+    @Valid
+    private Autosave autosave = new Autosave();
+    @Valid
+    private ConnectionLimiter connectionLimiter = new ConnectionLimiter();
+    @Valid
+    private Outbox outbox = new Outbox();
+    @Valid
+    private Pool pool = new Pool();
+    @Valid
+    private Sse sse = new Sse();
+
+    @Getter
+    @Setter
+    public static class Pagination {
+        @Min(1)
+        private int maxLimit = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Notification {
+        private boolean enabled = false;
+        @NotBlank
+        @Pattern(regexp = "[a-z_][a-z0-9_]*")
+        private String channel = "tax_form_changed";
+        @NotNull
+        private Duration pollTimeout = Duration.ofSeconds(1);
+        @NotNull
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Autosave {
+        private boolean enabled = false;
+        @NotNull
+        private Duration window = Duration.ofMillis(500);
+        @Min(1)
+        private int maxPending = 1000;
+        @Min(1)
+        private int flushThreads = 4;
+        @NotNull
+        private Duration ackTimeout = Duration.ofSeconds(10);
+        @NotNull
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+        @NotNull
+        private Ack ack = Ack.DURABLE;
+
+        public enum Ack {
+            DURABLE,
+            ACCEPTED
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class ConnectionLimiter {
+        private boolean enabled = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Sse {
+        @Min(1)
+        private int bufferSize = 256;
+        @Min(1)
+        private int maxSubscribers = 10000;
+        @NotNull
+        private Duration timeout = Duration.ofMinutes(30);
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+        private boolean enabled = false;
+        @Min(1)
+        private int batchSize = 100;
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private Sink sink;
+        @NotBlank
+        private String file = "tax-form-outbox.ndjson";
+
+        // Relayed rows are deleted, so the relay must never start against a sink nobody chose
+        @AssertTrue(message = "must be set when the outbox is enabled")
+        public boolean isSinkValid() {
+            return !enabled || sink != null;
+        }
+
+        public enum Sink {
+            MEMORY,
+            FILE
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        @Min(1)
+        private int maximumPoolSize = 10;
+        @Min(0)
+        private Integer minimumIdle;
+        @NotNull
+        @DurationMin(millis = 250)
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+        @NotNull
+        private Duration leakDetectionThreshold = Duration.ZERO;
+        @Min(0)
+        private int prepareThreshold = 5;
+        @Min(0)
+        private int preparedStatementCacheQueries = 256;
+        private boolean reWriteBatchedInserts = true;
+
+        @AssertTrue(message = "must be 0 or at least 2 seconds")
+        public boolean isLeakDetectionThresholdValid() {
+            return leakDetectionThreshold == null
+                    || leakDetectionThreshold.isZero()
+                    || leakDetectionThreshold.compareTo(Duration.ofSeconds(2)) >= 0;
+        }
+
+        @AssertTrue(message = "must not exceed maximumPoolSize")
+        public boolean isMinimumIdleValid() {
+            return minimumIdle == null || minimumIdle <= maximumPoolSize;
+        }
+    }
 }
@@ -1,55 +1,272 @@
 package consulting.reason.tax_forms_api.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
 import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.TaxFormPageDto;
+import consulting.reason.tax_forms_api.dto.TaxFormSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionResultDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearStateDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearSummaryDto;
 import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.dto.request.TaxFormTransitionsRequest;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
 import consulting.reason.tax_forms_api.exception.TaxFormNotFoundException;
+import consulting.reason.tax_forms_api.exception.TaxFormPageRequestException;
+import consulting.reason.tax_forms_api.exception.TaxFormPatchException;
+import consulting.reason.tax_forms_api.service.TaxFormAutosaveCoalescer;
 import consulting.reason.tax_forms_api.service.TaxFormService;
+import consulting.reason.tax_forms_api.sse.TaxFormTransitionBroadcaster;
+import consulting.reason.tax_forms_api.util.TaxFormETagUtils;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(Endpoints.FORMS)
 public class TaxFormController {
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    public static final String SUMMARY_VIEW = "summary";
     private final TaxFormService taxFormService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ObjectProvider<TaxFormAutosaveCoalescer> taxFormAutosaveCoalescer;
+    private final TaxFormTransitionBroadcaster taxFormTransitionBroadcaster;
 
-    public TaxFormController(TaxFormService taxFormService) {
+    public TaxFormController(TaxFormService taxFormService,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ObjectProvider<TaxFormAutosaveCoalescer> taxFormAutosaveCoalescer,
+                             TaxFormTransitionBroadcaster taxFormTransitionBroadcaster) {
         this.taxFormService = taxFormService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.taxFormAutosaveCoalescer = taxFormAutosaveCoalescer;
+        this.taxFormTransitionBroadcaster = taxFormTransitionBroadcaster;
     }
 
     @GetMapping
-    public List<TaxFormDto> findAllByYear(@RequestParam("year") Integer year) {
-        return taxFormService.findAllByYear(year);
+    public ResponseEntity<List<TaxFormDto>> findAllByYear(@RequestParam("year") Integer year, WebRequest webRequest) {
+        // MAX(updated_at) can move backwards relative to commit order, so the year list is validated by ETag only
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            TaxFormYearStateDto taxFormYearStateDto = taxFormService.findStateByYear(year);
+            if (webRequest.checkNotModified(TaxFormETagUtils.toYearETag(
+                    year,
+                    taxFormYearStateDto.getCount(),
+                    taxFormYearStateDto.getVersionSum(),
+                    taxFormYearStateDto.getLastUpdatedAt()))) {
+                return null;
+            }
+        }
+
+        List<TaxFormDto> taxFormDtos = taxFormService.findAllByYear(year);
+        long versionSum = taxFormDtos.stream()
+                .mapToLong(TaxFormDto::getVersion)
+                .sum();
+        ZonedDateTime lastUpdatedAt = taxFormDtos.stream()
+                .map(TaxFormDto::getUpdatedAt)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+
+        return ResponseEntity.ok()
+                .eTag(TaxFormETagUtils.toYearETag(year, taxFormDtos.size(), versionSum, lastUpdatedAt))
+                .body(taxFormDtos);
+    }
+
+    @GetMapping(params = {"year", "view"})
+    public List<TaxFormSummaryDto> findSummariesByYear(@RequestParam("year") Integer year,
+                                                       @RequestParam("view") String view,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        if (!SUMMARY_VIEW.equals(view)) {
+            throw new TaxFormPageRequestException("Unknown view '%s'".formatted(view));
+        }
+        if (cursor != null || limit != null) {
+            throw new TaxFormPageRequestException("The summary view returns the whole year and does not take a cursor or limit");
+        }
+
+        return taxFormService.findSummariesByYear(year);
+    }
+
+    @GetMapping(params = {"year", "limit", "!view"})
+    public TaxFormPageDto findPageByYear(@RequestParam("year") Integer year,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam("limit") Integer limit) {
+        return taxFormService.findPageByYear(year, cursor, limit);
+    }
+
+    @GetMapping("/changes")
+    public TaxFormPageDto findChanges(@RequestParam(value = "since", required = false) String since,
+                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        return taxFormService.findChanges(since, limit);
+    }
+
+    @GetMapping("/summary")
+    public TaxFormYearSummaryDto summarizeByYear(@RequestParam("year") Integer year) {
+        return taxFormService.summarizeByYear(year);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByYear(@RequestParam("year") Integer year) {
+        StreamingResponseBody body = outputStream -> taxFormService.exportByYear(
+                year,
+                taxFormDto -> writeLine(outputStream, taxFormDto)
+        );
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public TaxFormDto findById(@PathVariable("id") Integer id) {
-        return taxFormService.findById(id)
-                .orElseThrow(() -> new TaxFormNotFoundException(id));
+    public ResponseEntity<TaxFormDto> findById(@PathVariable("id") Integer id, WebRequest webRequest) {
+        // updated_at is stamped before commit, so only the version is a safe validator
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            TaxFormSummaryDto taxFormSummaryDto = taxFormService.findSummaryById(id)
+                    .orElseThrow(() -> new TaxFormNotFoundException(id));
+            if (webRequest.checkNotModified(TaxFormETagUtils.toETag(taxFormSummaryDto.getVersion()))) {
+                return null;
+            }
+        }
+
+        return withETag(taxFormService.findById(id)
+                .orElseThrow(() -> new TaxFormNotFoundException(id)));
     }
 
     @PatchMapping("/{id}")
-    public TaxFormDto save(@PathVariable("id") Integer id, @Validated @RequestBody TaxFormDetailsRequest taxFormDetailsRequest) {
-        return taxFormService.save(id, taxFormDetailsRequest)
+    public ResponseEntity<TaxFormDto> save(@PathVariable("id") Integer id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @Validated @RequestBody TaxFormDetailsRequest taxFormDetailsRequest) {
+        TaxFormAutosaveCoalescer coalescer = taxFormAutosaveCoalescer.getIfAvailable();
+        if (coalescer != null && ifMatch == null) {
+            CompletableFuture<Optional<TaxFormDto>> saved = coalescer.save(id, taxFormDetailsRequest);
+            if (coalescer.getAck() == TaxFormsApiProperties.Autosave.Ack.ACCEPTED) {
+                return ResponseEntity.accepted().build();
+            }
+
+            return withETag(coalescer.await(saved)
+                    .orElseThrow(() -> new TaxFormNotFoundException(id)));
+        }
+
+        return withETag(taxFormService.save(id, TaxFormETagUtils.parseIfMatch(id, ifMatch), taxFormDetailsRequest)
+                .orElseThrow(() -> new TaxFormNotFoundException(id)));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = APPLICATION_MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<TaxFormSummaryDto> mergeDetails(@PathVariable("id") Integer id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          @RequestBody ObjectNode detailsPatch) {
+        TaxFormDetailsRequest taxFormDetailsRequest = validateDetailsPatch(detailsPatch);
+        TaxFormSummaryDto taxFormSummaryDto = taxFormService.mergeDetails(
+                        id,
+                        TaxFormETagUtils.parseIfMatch(id, ifMatch),
+                        toDetailsPatch(detailsPatch, taxFormDetailsRequest),
+                        validator.validate(taxFormDetailsRequest).isEmpty()
+                )
                 .orElseThrow(() -> new TaxFormNotFoundException(id));
+
+        return ResponseEntity.ok()
+                .eTag(TaxFormETagUtils.toETag(taxFormSummaryDto.getVersion()))
+                .body(taxFormSummaryDto);
     }
     
     @GetMapping("/submit/{id}")
-    public TaxFormDto submitTaxForm(@PathVariable("id") Integer id) {
-    	return taxFormService.submitForm(id)
-    			.orElseThrow(() -> new TaxFormNotFoundException(id));
+    public ResponseEntity<TaxFormDto> submitTaxForm(@PathVariable("id") Integer id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    	return withETag(taxFormService.submitForm(id, TaxFormETagUtils.parseIfMatch(id, ifMatch))
+    			.orElseThrow(() -> new TaxFormNotFoundException(id)));
     }
     
     @GetMapping("/return/{id}")
-    public TaxFormDto returnTaxForm(@PathVariable("id") Integer id) {
-    	return taxFormService.returnForm(id)
-    			.orElseThrow(() -> new TaxFormNotFoundException(id));
+    public ResponseEntity<TaxFormDto> returnTaxForm(@PathVariable("id") Integer id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    	return withETag(taxFormService.returnForm(id, TaxFormETagUtils.parseIfMatch(id, ifMatch))
+    			.orElseThrow(() -> new TaxFormNotFoundException(id)));
     }
     
     @GetMapping("/accept/{id}")
-    public TaxFormDto acceptTaxForm(@PathVariable("id") Integer id) {
-    	return taxFormService.acceptForm(id)
-    			.orElseThrow(() -> new TaxFormNotFoundException(id));
+    public ResponseEntity<TaxFormDto> acceptTaxForm(@PathVariable("id") Integer id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    	return withETag(taxFormService.acceptForm(id, TaxFormETagUtils.parseIfMatch(id, ifMatch))
+    			.orElseThrow(() -> new TaxFormNotFoundException(id)));
+    }
+
+    @GetMapping(value = "/transitions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTransitions(@RequestParam(value = "year", required = false) Integer year,
+                                        @RequestParam(value = "status", required = false) Set<TaxFormStatus> statuses) {
+        return taxFormTransitionBroadcaster.subscribe(year, statuses);
+    }
+
+    @PostMapping("/transitions")
+    public List<TaxFormTransitionResultDto> transitionAll(@Validated @RequestBody TaxFormTransitionsRequest taxFormTransitionsRequest) {
+        return taxFormService.transitionAll(taxFormTransitionsRequest.getTransitions());
+    }
+
+    private ResponseEntity<TaxFormDto> withETag(TaxFormDto taxFormDto) {
+        return ResponseEntity.ok()
+                .eTag(TaxFormETagUtils.toETag(taxFormDto.getVersion()))
+                .body(taxFormDto);
+    }
+
+    private TaxFormDetailsRequest validateDetailsPatch(ObjectNode detailsPatch) {
+        TaxFormDetailsRequest taxFormDetailsRequest;
+        try {
+            taxFormDetailsRequest = objectMapper.readerFor(TaxFormDetailsRequest.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .treeToValue(detailsPatch, TaxFormDetailsRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new TaxFormPatchException(e.getOriginalMessage());
+        }
+
+        List<String> violations = new ArrayList<>();
+        detailsPatch.fieldNames().forEachRemaining(field -> validator.validateProperty(taxFormDetailsRequest, field)
+                .stream()
+                .map(violation -> "%s %s".formatted(violation.getPropertyPath(), violation.getMessage()))
+                .forEach(violations::add));
+
+        if (!violations.isEmpty()) {
+            throw new TaxFormPatchException(String.join(", ", violations));
+        }
+
+        return taxFormDetailsRequest;
+    }
+
+    // Stores the coerced, validated values rather than the raw JSON, so "12" or 12.7 never reach the details column
+    private ObjectNode toDetailsPatch(ObjectNode detailsPatch, TaxFormDetailsRequest taxFormDetailsRequest) {
+        ObjectNode validated = objectMapper.valueToTree(taxFormDetailsRequest);
+        ObjectNode taxFormDetailsPatch = objectMapper.createObjectNode();
+        detailsPatch.fieldNames().forEachRemaining(field -> taxFormDetailsPatch.set(field, validated.get(field)));
+
+        return taxFormDetailsPatch;
+    }
+
+    private void writeLine(OutputStream outputStream, TaxFormDto taxFormDto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(taxFormDto));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
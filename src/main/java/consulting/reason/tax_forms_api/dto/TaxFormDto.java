@@ -20,5 +20,6 @@ public class TaxFormDto {
     private TaxFormDetailsDto details;
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
+    private Integer version;
     private List<TaxFormHistoryDto> history;
 }
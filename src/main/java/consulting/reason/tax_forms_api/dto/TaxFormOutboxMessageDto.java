@@ -0,0 +1,20 @@
+package consulting.reason.tax_forms_api.dto;
+
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormOutboxMessageDto {
+    private Integer id;
+    private Integer taxFormId;
+    private TaxFormHistoryType type;
+    private ZonedDateTime createdAt;
+    private TaxFormTransitionDto payload;
+}
@@ -0,0 +1,17 @@
+package consulting.reason.tax_forms_api.dto;
+
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormStatusSummaryDto {
+    private TaxFormStatus status;
+    private long count;
+    private long assessedValue;
+    private long appraisedValue;
+}
@@ -0,0 +1,22 @@
+package consulting.reason.tax_forms_api.dto;
+
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormSummaryDto {
+    private Integer id;
+    private Integer formYear;
+    private String formName;
+    private TaxFormStatus status;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime updatedAt;
+    private Integer version;
+}
@@ -0,0 +1,17 @@
+package consulting.reason.tax_forms_api.dto;
+
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormTransitionDto {
+    private Integer formYear;
+    private Integer version;
+    private TaxFormStatus status;
+    private TaxFormHistoryDto history;
+}
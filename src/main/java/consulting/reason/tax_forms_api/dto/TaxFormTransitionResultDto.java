@@ -0,0 +1,19 @@
+package consulting.reason.tax_forms_api.dto;
+
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormTransitionResultDto {
+    private Integer id;
+    private TaxFormAction action;
+    private boolean success;
+    private TaxFormStatus status;
+    private String message;
+}
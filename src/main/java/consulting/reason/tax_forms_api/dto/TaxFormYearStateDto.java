@@ -0,0 +1,17 @@
+package consulting.reason.tax_forms_api.dto;
+
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormYearStateDto {
+    private Long count;
+    private Long versionSum;
+    private ZonedDateTime lastUpdatedAt;
+}
@@ -0,0 +1,19 @@
+package consulting.reason.tax_forms_api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaxFormYearSummaryDto {
+    private Integer formYear;
+    private long count;
+    private long assessedValue;
+    private long appraisedValue;
+    private List<TaxFormStatusSummaryDto> statuses;
+}
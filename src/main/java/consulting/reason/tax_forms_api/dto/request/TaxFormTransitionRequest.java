@@ -0,0 +1,21 @@
+package consulting.reason.tax_forms_api.dto.request;
+
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class TaxFormTransitionRequest {
+    @NotNull
+    private Integer id;
+
+    @NotNull
+    private TaxFormAction action;
+
+    private Integer version;
+}
@@ -0,0 +1,21 @@
+package consulting.reason.tax_forms_api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class TaxFormTransitionsRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull TaxFormTransitionRequest> transitions;
+}
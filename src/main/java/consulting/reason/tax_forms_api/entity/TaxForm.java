@@ -21,7 +21,8 @@ import java.util.List;
 @Entity
 public class TaxForm {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tax_forms_seq")
+    @SequenceGenerator(name = "tax_forms_seq", sequenceName = "tax_forms_seq", allocationSize = 50)
     private Integer id;
     @Column(nullable = false)
     private Integer formYear;
@@ -37,6 +38,9 @@ public class TaxForm {
     private ZonedDateTime createdAt;
     @UpdateTimestamp
     private ZonedDateTime updatedAt;
+    @Version
+    @Column(nullable = false)
+    private Integer version;
     @OneToMany(mappedBy = "taxForm", cascade = CascadeType.ALL)
     private List<TaxFormHistory> history;
 }
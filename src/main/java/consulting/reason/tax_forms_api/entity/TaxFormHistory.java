@@ -21,7 +21,8 @@ import lombok.Setter;
 @Entity
 public class TaxFormHistory {
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tax_form_history_seq")
+    @SequenceGenerator(name = "tax_form_history_seq", sequenceName = "tax_form_history_seq", allocationSize = 50)
 	private Integer id;
 	@ManyToOne
     @JoinColumn(name = "tax_form_id", nullable = false)
@@ -0,0 +1,35 @@
+package consulting.reason.tax_forms_api.entity;
+
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionDto;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "tax_form_outbox")
+@Entity
+public class TaxFormOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tax_form_outbox_seq")
+    @SequenceGenerator(name = "tax_form_outbox_seq", sequenceName = "tax_form_outbox_seq", allocationSize = 50)
+    private Integer id;
+    @Column(nullable = false)
+    private Integer taxFormId;
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private TaxFormHistoryType type;
+    @Type(JsonType.class)
+    @Column(name = "payload", columnDefinition = "VARCHAR2", nullable = false)
+    private TaxFormTransitionDto payload;
+    @CreationTimestamp
+    private ZonedDateTime createdAt;
+}
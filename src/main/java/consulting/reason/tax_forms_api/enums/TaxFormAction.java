@@ -0,0 +1,23 @@
+package consulting.reason.tax_forms_api.enums;
+
+public enum TaxFormAction {
+    SUBMIT(TaxFormStatus.SUBMITTED, TaxFormHistoryType.SUBMITTED),
+    RETURN(TaxFormStatus.RETURNED, TaxFormHistoryType.RETURNED),
+    ACCEPT(TaxFormStatus.ACCEPTED, TaxFormHistoryType.ACCEPTED);
+
+    private final TaxFormStatus status;
+    private final TaxFormHistoryType historyType;
+
+    TaxFormAction(TaxFormStatus status, TaxFormHistoryType historyType) {
+        this.status = status;
+        this.historyType = historyType;
+    }
+
+    public TaxFormStatus getStatus() {
+        return status;
+    }
+
+    public TaxFormHistoryType getHistoryType() {
+        return historyType;
+    }
+}
@@ -0,0 +1,16 @@
+package consulting.reason.tax_forms_api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TaxFormChangedEvent {
+    private final Integer id;
+    private final Integer formYear;
+    private final Integer version;
+}
@@ -0,0 +1,18 @@
+package consulting.reason.tax_forms_api.event;
+
+import consulting.reason.tax_forms_api.dto.TaxFormHistoryDto;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TaxFormTransitionedEvent {
+    private final Integer formYear;
+    private final TaxFormStatus status;
+    private final TaxFormHistoryDto history;
+}
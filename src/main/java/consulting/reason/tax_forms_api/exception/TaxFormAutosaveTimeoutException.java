@@ -0,0 +1,13 @@
+package consulting.reason.tax_forms_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class TaxFormAutosaveTimeoutException extends ResponseStatusException {
+    public TaxFormAutosaveTimeoutException() {
+        super(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Tax form autosave did not complete in time"
+        );
+    }
+}
@@ -7,7 +7,11 @@ public class TaxFormNotFoundException extends ResponseStatusException {
     public TaxFormNotFoundException(Integer id) {
         super(
                 HttpStatus.NOT_FOUND,
-                "Tax form %d not found".formatted(id)
+                message(id)
         );
     }
+
+    public static String message(Integer id) {
+        return "Tax form %d not found".formatted(id);
+    }
 }
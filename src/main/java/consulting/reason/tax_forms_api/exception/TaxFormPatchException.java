@@ -0,0 +1,13 @@
+package consulting.reason.tax_forms_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class TaxFormPatchException extends ResponseStatusException {
+    public TaxFormPatchException(String reason) {
+        super(
+                HttpStatus.BAD_REQUEST,
+                reason
+        );
+    }
+}
@@ -7,13 +7,21 @@ import org.springframework.web.server.ResponseStatusException;
 
 public class TaxFormStatusException extends ResponseStatusException {
     public TaxFormStatusException(TaxForm taxForm, TaxFormStatus taxFormStatus) {
+        this(taxForm.getId(), taxForm.getStatus(), taxFormStatus);
+    }
+
+    public TaxFormStatusException(Integer id, TaxFormStatus currentStatus, TaxFormStatus taxFormStatus) {
         super(
                 HttpStatus.UNPROCESSABLE_ENTITY,
-                "Cannot update form id %d to status %s from status %s".formatted(
-                        taxForm.getId(),
-                        taxFormStatus.name(),
-                        taxForm.getStatus().name()
-                )
+                message(id, currentStatus, taxFormStatus)
+        );
+    }
+
+    public static String message(Integer id, TaxFormStatus currentStatus, TaxFormStatus taxFormStatus) {
+        return "Cannot update form id %d to status %s from status %s".formatted(
+                id,
+                taxFormStatus.name(),
+                currentStatus.name()
         );
     }
 }
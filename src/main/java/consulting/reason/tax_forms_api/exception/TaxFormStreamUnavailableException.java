@@ -0,0 +1,13 @@
+package consulting.reason.tax_forms_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class TaxFormStreamUnavailableException extends ResponseStatusException {
+    public TaxFormStreamUnavailableException() {
+        super(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Tax form transition stream is at capacity"
+        );
+    }
+}
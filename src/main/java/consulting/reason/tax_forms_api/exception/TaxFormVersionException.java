@@ -0,0 +1,17 @@
+package consulting.reason.tax_forms_api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class TaxFormVersionException extends ResponseStatusException {
+    public TaxFormVersionException(Integer id) {
+        super(
+                HttpStatus.PRECONDITION_FAILED,
+                message(id)
+        );
+    }
+
+    public static String message(Integer id) {
+        return "Tax form %d does not match the requested version".formatted(id);
+    }
+}
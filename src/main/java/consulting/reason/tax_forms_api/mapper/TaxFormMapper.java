@@ -0,0 +1,110 @@
+package consulting.reason.tax_forms_api.mapper;
+
+import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.TaxFormHistoryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormOutboxMessageDto;
+import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.entity.TaxFormHistory;
+import consulting.reason.tax_forms_api.entity.TaxFormOutbox;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class TaxFormMapper {
+    public TaxFormDto toDto(TaxForm taxForm) {
+        return TaxFormDto.builder()
+                .id(taxForm.getId())
+                .formYear(taxForm.getFormYear())
+                .formName(taxForm.getFormName())
+                .status(taxForm.getStatus())
+                .details(taxForm.getDetails())
+                .createdAt(taxForm.getCreatedAt())
+                .updatedAt(taxForm.getUpdatedAt())
+                .version(taxForm.getVersion())
+                .history(toHistoryDtos(taxForm.getHistory()))
+                .build();
+    }
+
+    public TaxFormDto copy(TaxFormDto taxFormDto) {
+        return TaxFormDto.builder()
+                .id(taxFormDto.getId())
+                .formYear(taxFormDto.getFormYear())
+                .formName(taxFormDto.getFormName())
+                .status(taxFormDto.getStatus())
+                .details(copy(taxFormDto.getDetails()))
+                .createdAt(taxFormDto.getCreatedAt())
+                .updatedAt(taxFormDto.getUpdatedAt())
+                .version(taxFormDto.getVersion())
+                .history(taxFormDto.getHistory() == null ? null : taxFormDto.getHistory().stream()
+                        .map(this::copy)
+                        .toList())
+                .build();
+    }
+
+    public TaxFormHistoryDto toHistoryDto(TaxFormHistory taxFormHistory) {
+        return TaxFormHistoryDto.builder()
+                .id(taxFormHistory.getId())
+                .taxFormId(taxFormHistory.getTaxForm().getId())
+                .createdAt(taxFormHistory.getCreatedAt())
+                .type(taxFormHistory.getType())
+                .build();
+    }
+
+    public TaxFormOutboxMessageDto toOutboxMessageDto(TaxFormOutbox taxFormOutbox) {
+        return TaxFormOutboxMessageDto.builder()
+                .id(taxFormOutbox.getId())
+                .taxFormId(taxFormOutbox.getTaxFormId())
+                .type(taxFormOutbox.getType())
+                .createdAt(taxFormOutbox.getCreatedAt())
+                .payload(taxFormOutbox.getPayload())
+                .build();
+    }
+
+    public TaxFormDetailsDto toDetailsDto(TaxFormDetailsRequest taxFormDetailsRequest) {
+        return TaxFormDetailsDto.builder()
+                .appraisedValue(taxFormDetailsRequest.getAppraisedValue())
+                .assessedValue(taxFormDetailsRequest.getAssessedValue())
+                .comments(taxFormDetailsRequest.getComments())
+                .ratio(taxFormDetailsRequest.getRatio())
+                .build();
+    }
+
+    private TaxFormDetailsDto copy(TaxFormDetailsDto taxFormDetailsDto) {
+        if (taxFormDetailsDto == null) {
+            return null;
+        }
+
+        return TaxFormDetailsDto.builder()
+                .appraisedValue(taxFormDetailsDto.getAppraisedValue())
+                .assessedValue(taxFormDetailsDto.getAssessedValue())
+                .comments(taxFormDetailsDto.getComments())
+                .ratio(taxFormDetailsDto.getRatio())
+                .build();
+    }
+
+    private TaxFormHistoryDto copy(TaxFormHistoryDto taxFormHistoryDto) {
+        return TaxFormHistoryDto.builder()
+                .id(taxFormHistoryDto.getId())
+                .taxFormId(taxFormHistoryDto.getTaxFormId())
+                .createdAt(taxFormHistoryDto.getCreatedAt())
+                .type(taxFormHistoryDto.getType())
+                .build();
+    }
+
+    private List<TaxFormHistoryDto> toHistoryDtos(List<TaxFormHistory> history) {
+        if (history == null) {
+            return List.of();
+        }
+
+        List<TaxFormHistoryDto> historyDtos = new ArrayList<>(history.size());
+        for (TaxFormHistory taxFormHistory : history) {
+            historyDtos.add(toHistoryDto(taxFormHistory));
+        }
+
+        return historyDtos;
+    }
+}
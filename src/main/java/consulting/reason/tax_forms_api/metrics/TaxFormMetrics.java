@@ -0,0 +1,132 @@
+package consulting.reason.tax_forms_api.metrics;
+
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+@Component
+public class TaxFormMetrics {
+    public static final String SERVICE_TIMER = "tax_forms.service";
+    public static final String LIST_SIZE = "tax_forms.list.size";
+    public static final String TRANSITIONS = "tax_forms.transitions";
+    public static final String REJECTED_TRANSITIONS = "tax_forms.transitions.rejected";
+    public static final String ERRORS = "tax_forms.errors";
+    public static final String AUTOSAVE_FAILURES = "tax_forms.autosave.failures";
+    public static final String OUTBOX_BATCH = "tax_forms.outbox.batch";
+    public static final String OUTBOX_RELAYED = "tax_forms.outbox.relayed";
+    public static final String OUTBOX_FAILURES = "tax_forms.outbox.failures";
+    public static final String SSE_SUBSCRIBERS = "tax_forms.sse.subscribers";
+    public static final String SSE_DROPPED = "tax_forms.sse.dropped";
+    public static final String PHASE_DB = "db";
+    public static final String PHASE_MAPPING = "mapping";
+    private final MeterRegistry meterRegistry;
+
+    public TaxFormMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T recordDb(String operation, Supplier<T> supplier) {
+        return timer(operation, PHASE_DB).record(supplier);
+    }
+
+    public <T> T recordMapping(String operation, Supplier<T> supplier) {
+        return timer(operation, PHASE_MAPPING).record(supplier);
+    }
+
+    public void recordListSize(String operation, int size) {
+        DistributionSummary.builder(LIST_SIZE)
+                .description("Number of tax forms returned by a listing")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    public void recordTransition(TaxFormStatus from, TaxFormStatus to) {
+        Counter.builder(TRANSITIONS)
+                .description("Tax form status transitions that were applied")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRejectedTransition(TaxFormStatus from, TaxFormStatus to, String reason) {
+        Counter.builder(REJECTED_TRANSITIONS)
+                .description("Tax form status transitions that were refused")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordError(String exception, int status) {
+        Counter.builder(ERRORS)
+                .description("Exceptions translated into error responses")
+                .tag("exception", exception)
+                .tag("status", String.valueOf(status))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordAutosaveFailure(String exception) {
+        Counter.builder(AUTOSAVE_FAILURES)
+                .description("Coalesced autosaves that could not be written")
+                .tag("exception", exception)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public <T> T recordOutboxBatch(Supplier<T> supplier) {
+        return Timer.builder(OUTBOX_BATCH)
+                .description("Time spent relaying one batch of outbox messages")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    public void recordOutboxRelayed(int count) {
+        Counter.builder(OUTBOX_RELAYED)
+                .description("Outbox messages handed to the sink")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    public void recordOutboxFailure() {
+        Counter.builder(OUTBOX_FAILURES)
+                .description("Outbox batches that were rolled back")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void registerSseSubscribers(Collection<?> subscribers) {
+        Gauge.builder(SSE_SUBSCRIBERS, subscribers, Collection::size)
+                .description("Open tax form transition streams")
+                .register(meterRegistry);
+    }
+
+    public void recordSseDropped(String reason) {
+        Counter.builder(SSE_DROPPED)
+                .description("Tax form transition streams closed by the server")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer timer(String operation, String phase) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Time spent in tax form service operations")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
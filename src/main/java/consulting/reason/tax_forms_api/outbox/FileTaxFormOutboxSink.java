@@ -0,0 +1,40 @@
+package consulting.reason.tax_forms_api.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import consulting.reason.tax_forms_api.dto.TaxFormOutboxMessageDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class FileTaxFormOutboxSink implements TaxFormOutboxSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileTaxFormOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<TaxFormOutboxMessageDto> messages) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (TaxFormOutboxMessageDto message : messages) {
+            lines.write(objectMapper.writeValueAsBytes(message));
+            lines.write('\n');
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // The relay deletes the batch once this returns, so the lines must be on disk first
+            channel.force(false);
+        }
+    }
+}
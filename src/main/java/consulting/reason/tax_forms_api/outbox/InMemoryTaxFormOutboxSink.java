@@ -0,0 +1,19 @@
+package consulting.reason.tax_forms_api.outbox;
+
+import consulting.reason.tax_forms_api.dto.TaxFormOutboxMessageDto;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class InMemoryTaxFormOutboxSink implements TaxFormOutboxSink {
+    private final ConcurrentLinkedQueue<TaxFormOutboxMessageDto> messages = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(List<TaxFormOutboxMessageDto> messages) {
+        this.messages.addAll(messages);
+    }
+
+    public List<TaxFormOutboxMessageDto> getMessages() {
+        return List.copyOf(messages);
+    }
+}
@@ -0,0 +1,120 @@
+package consulting.reason.tax_forms_api.outbox;
+
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.entity.TaxFormOutbox;
+import consulting.reason.tax_forms_api.mapper.TaxFormMapper;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.repository.TaxFormOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "tax-forms-api.outbox", name = "enabled", havingValue = "true")
+public class TaxFormOutboxRelay implements SmartLifecycle {
+    private final Logger logger = LoggerFactory.getLogger(TaxFormOutboxRelay.class);
+    private final TaxFormOutboxRepository taxFormOutboxRepository;
+    private final TaxFormOutboxSink taxFormOutboxSink;
+    private final TaxFormMapper taxFormMapper;
+    private final TaxFormMetrics taxFormMetrics;
+    private final TaxFormsApiProperties.Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+    private Thread thread;
+
+    public TaxFormOutboxRelay(TaxFormOutboxRepository taxFormOutboxRepository,
+                              TaxFormOutboxSink taxFormOutboxSink,
+                              TaxFormMapper taxFormMapper,
+                              TaxFormMetrics taxFormMetrics,
+                              TaxFormsApiProperties taxFormsApiProperties,
+                              PlatformTransactionManager transactionManager) {
+        this.taxFormOutboxRepository = taxFormOutboxRepository;
+        this.taxFormOutboxSink = taxFormOutboxSink;
+        this.taxFormMapper = taxFormMapper;
+        this.taxFormMetrics = taxFormMetrics;
+        this.outbox = taxFormsApiProperties.getOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("tax-form-outbox-relay")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int relayBatch() {
+        // Rows locked by another node are skipped, so every node drains a disjoint batch
+        Integer relayed = taxFormMetrics.recordOutboxBatch(() -> transactionTemplate.execute(status -> {
+            List<TaxFormOutbox> batch = taxFormOutboxRepository.lockNextBatch(outbox.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                taxFormOutboxSink.publish(batch.stream()
+                        .map(taxFormMapper::toOutboxMessageDto)
+                        .toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            taxFormOutboxRepository.deleteAllByIdInBatch(batch.stream()
+                    .map(TaxFormOutbox::getId)
+                    .toList());
+
+            return batch.size();
+        }));
+
+        taxFormMetrics.recordOutboxRelayed(relayed);
+        return relayed;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (relayBatch() < outbox.getBatchSize()) {
+                    Thread.sleep(outbox.getPollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+
+                taxFormMetrics.recordOutboxFailure();
+                logger.warn("Failed to relay tax form outbox batch, retrying", e);
+                try {
+                    Thread.sleep(outbox.getPollInterval());
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
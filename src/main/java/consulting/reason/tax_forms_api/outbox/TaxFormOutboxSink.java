@@ -0,0 +1,10 @@
+package consulting.reason.tax_forms_api.outbox;
+
+import consulting.reason.tax_forms_api.dto.TaxFormOutboxMessageDto;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface TaxFormOutboxSink {
+    void publish(List<TaxFormOutboxMessageDto> messages) throws IOException;
+}
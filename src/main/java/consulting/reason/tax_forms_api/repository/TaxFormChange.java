@@ -0,0 +1,7 @@
+package consulting.reason.tax_forms_api.repository;
+
+public interface TaxFormChange {
+    Integer getId();
+
+    Long getWriteXid();
+}
@@ -0,0 +1,22 @@
+package consulting.reason.tax_forms_api.repository;
+
+import consulting.reason.tax_forms_api.entity.TaxFormOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaxFormOutboxRepository extends JpaRepository<TaxFormOutbox, Integer> {
+    // Ids come from per-node pooled blocks and created_at from each node's clock, so neither is commit order;
+    // consumers order a form's messages by payload.version
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM tax_form_outbox
+            ORDER BY created_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<TaxFormOutbox> lockNextBatch(@Param("limit") int limit);
+}
@@ -1,12 +1,136 @@
 package consulting.reason.tax_forms_api.repository;
 
+import consulting.reason.tax_forms_api.dto.TaxFormSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearStateDto;
 import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaxFormRepository extends JpaRepository<TaxForm, Integer> {
+    int STREAM_FETCH_SIZE = 500;
+
+    @EntityGraph(attributePaths = "history")
     List<TaxForm> findAllByFormYear(Integer formYear);
+
+    @EntityGraph(attributePaths = "history")
+    Optional<TaxForm> findWithHistoryById(Integer id);
+
+    @EntityGraph(attributePaths = "history")
+    List<TaxForm> findAllByIdIn(Collection<Integer> ids);
+
+    @Query("""
+            SELECT new consulting.reason.tax_forms_api.dto.TaxFormSummaryDto(
+                t.id, t.formYear, t.formName, t.status, t.createdAt, t.updatedAt, t.version)
+            FROM TaxForm t
+            WHERE t.formYear = :formYear
+            ORDER BY t.id
+            """)
+    List<TaxFormSummaryDto> findSummariesByFormYear(@Param("formYear") Integer formYear);
+
+    @Query("""
+            SELECT new consulting.reason.tax_forms_api.dto.TaxFormSummaryDto(
+                t.id, t.formYear, t.formName, t.status, t.createdAt, t.updatedAt, t.version)
+            FROM TaxForm t
+            WHERE t.id = :id
+            """)
+    Optional<TaxFormSummaryDto> findSummaryById(@Param("id") Integer id);
+
+    // write_xid is the id of the transaction that last wrote the row. Every transaction below the snapshot's
+    // xmin has finished, so rows under that horizon can no longer be joined by a lower write_xid
+    @Query(nativeQuery = true, value = """
+            SELECT t.id AS "id", CAST(CAST(t.write_xid AS TEXT) AS BIGINT) AS "writeXid"
+            FROM tax_forms t
+            WHERE (t.write_xid, t.id) > (CAST(CAST(:afterXid AS TEXT) AS xid8), :afterId)
+              AND t.write_xid < pg_snapshot_xmin(pg_current_snapshot())
+            ORDER BY t.write_xid, t.id
+            LIMIT :limit
+            """)
+    List<TaxFormChange> findChangesAfter(@Param("afterXid") Long afterXid,
+                                         @Param("afterId") Integer afterId,
+                                         @Param("limit") int limit);
+
+    @Query("""
+            SELECT new consulting.reason.tax_forms_api.dto.TaxFormYearStateDto(COUNT(t), SUM(t.version), MAX(t.updatedAt))
+            FROM TaxForm t
+            WHERE t.formYear = :formYear
+            """)
+    TaxFormYearStateDto findStateByFormYear(@Param("formYear") Integer formYear);
+
+    @Query("""
+            SELECT t.id FROM TaxForm t
+            WHERE t.formYear = :formYear AND t.id > :afterId
+            ORDER BY t.id
+            """)
+    List<Integer> findIdsByFormYearAfter(@Param("formYear") Integer formYear,
+                                         @Param("afterId") Integer afterId,
+                                         Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaxForm> streamAllByFormYearOrderById(Integer formYear);
+
+    @Query("SELECT t.status AS status, t.version AS version FROM TaxForm t WHERE t.id = :id")
+    Optional<TaxFormState> findStateById(@Param("id") Integer id);
+
+    @Query(nativeQuery = true, value = """
+            SELECT t.status AS "status",
+                   COUNT(*) AS "formCount",
+                   CAST(SUM(CAST(t.details ->> 'assessedValue' AS BIGINT)) AS BIGINT) AS "assessedValue",
+                   CAST(SUM(CAST(t.details ->> 'appraisedValue' AS BIGINT)) AS BIGINT) AS "appraisedValue"
+            FROM tax_forms t
+            WHERE t.form_year = :formYear
+            GROUP BY t.status
+            """)
+    List<TaxFormStatusCount> countByStatusForFormYear(@Param("formYear") Integer formYear);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE TaxForm t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1
+            WHERE t.id = :id AND t.status = :from AND (:version IS NULL OR t.version = :version)
+            """)
+    int updateStatus(@Param("id") Integer id,
+                     @Param("status") TaxFormStatus status,
+                     @Param("from") TaxFormStatus from,
+                     @Param("version") Integer version,
+                     @Param("updatedAt") ZonedDateTime updatedAt);
+
+    // Returns the status the row had before the update, read under the same row lock the update takes
+    @Query(nativeQuery = true, value = """
+            UPDATE tax_forms t
+            SET details = jsonb_strip_nulls(COALESCE(t.details, CAST('{}' AS jsonb)) || CAST(:patch AS jsonb)),
+                status = :status,
+                updated_at = :updatedAt,
+                version = t.version + 1
+            FROM (SELECT id, status FROM tax_forms WHERE id = :id FOR UPDATE) previous
+            WHERE t.id = previous.id
+              AND t.status IN (:allowedFrom)
+              AND (CAST(:version AS INTEGER) IS NULL OR t.version = CAST(:version AS INTEGER))
+              AND (t.details IS NOT NULL OR CAST(:complete AS BOOLEAN))
+            RETURNING previous.status
+            """)
+    Optional<String> mergeDetails(@Param("id") Integer id,
+                     @Param("patch") String patch,
+                     @Param("complete") boolean complete,
+                     @Param("status") String status,
+                     @Param("allowedFrom") Collection<String> allowedFrom,
+                     @Param("version") Integer version,
+                     @Param("updatedAt") ZonedDateTime updatedAt);
 }
@@ -0,0 +1,9 @@
+package consulting.reason.tax_forms_api.repository;
+
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+
+public interface TaxFormState {
+    TaxFormStatus getStatus();
+
+    Integer getVersion();
+}
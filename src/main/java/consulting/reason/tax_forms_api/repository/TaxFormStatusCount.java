@@ -0,0 +1,11 @@
+package consulting.reason.tax_forms_api.repository;
+
+public interface TaxFormStatusCount {
+    String getStatus();
+
+    Long getFormCount();
+
+    Long getAssessedValue();
+
+    Long getAppraisedValue();
+}
@@ -0,0 +1,185 @@
+package consulting.reason.tax_forms_api.service;
+
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.exception.TaxFormAutosaveTimeoutException;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@ConditionalOnProperty(prefix = "tax-forms-api.autosave", name = "enabled", havingValue = "true")
+public class TaxFormAutosaveCoalescer {
+    private final Logger logger = LoggerFactory.getLogger(TaxFormAutosaveCoalescer.class);
+    private final TaxFormService taxFormService;
+    private final TaxFormMetrics taxFormMetrics;
+    private final TaxFormsApiProperties.Autosave autosave;
+    private final Map<Integer, PendingSave> pending = new ConcurrentHashMap<>();
+    // Flushes of one form are chained so a newer window never races an older save on the form's version
+    private final Map<Integer, CompletableFuture<Void>> flushing = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("tax-form-autosave").daemon().factory());
+    // The scheduler only keeps time; writes for different forms run side by side here, writes for one form in order
+    private final ExecutorService flushers;
+
+    public TaxFormAutosaveCoalescer(TaxFormService taxFormService,
+                                    TaxFormMetrics taxFormMetrics,
+                                    TaxFormsApiProperties taxFormsApiProperties) {
+        this.taxFormService = taxFormService;
+        this.taxFormMetrics = taxFormMetrics;
+        this.autosave = taxFormsApiProperties.getAutosave();
+        this.capacity = new Semaphore(autosave.getMaxPending());
+        this.flushers = Executors.newFixedThreadPool(
+                autosave.getFlushThreads(),
+                Thread.ofPlatform().name("tax-form-autosave-flush-", 0).daemon().factory());
+    }
+
+    public TaxFormsApiProperties.Autosave.Ack getAck() {
+        return autosave.getAck();
+    }
+
+    public CompletableFuture<Optional<TaxFormDto>> save(Integer id, TaxFormDetailsRequest taxFormDetailsRequest) {
+        CompletableFuture<Optional<TaxFormDto>> saved = new CompletableFuture<>();
+        PendingSave pendingSave = pending.compute(id, (key, existing) -> {
+            if (existing != null) {
+                existing.taxFormDetailsRequest = taxFormDetailsRequest;
+                existing.waiters.add(saved);
+                return existing;
+            }
+
+            if (scheduler.isShutdown() || !capacity.tryAcquire()) {
+                return null;
+            }
+
+            try {
+                scheduler.schedule(() -> submitFlush(id), autosave.getWindow().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The node started stopping after the check above
+                capacity.release();
+                return null;
+            }
+            return new PendingSave(taxFormDetailsRequest, saved);
+        });
+
+        // Too many forms are already waiting to be flushed (or the node is stopping), so the caller writes through
+        if (pendingSave == null) {
+            try {
+                awaitFlushing(id);
+                saved.complete(taxFormService.save(id, null, taxFormDetailsRequest));
+            } catch (RuntimeException e) {
+                saved.completeExceptionally(e);
+            }
+        }
+
+        return saved;
+    }
+
+    public Optional<TaxFormDto> await(CompletableFuture<Optional<TaxFormDto>> saved) {
+        try {
+            return saved.get(autosave.getAckTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new TaxFormAutosaveTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaxFormAutosaveTimeoutException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Pending timers only hand work to the flushers, so dropping them is safe; saves already running are left to finish
+        scheduler.shutdownNow();
+        flushers.shutdown();
+        if (!flushers.awaitTermination(autosave.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("Tax form autosave flushes still running after {}", autosave.getShutdownTimeout());
+        }
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+    }
+
+    private void submitFlush(Integer id) {
+        CompletableFuture<Void> chained;
+        try {
+            chained = flushing.compute(id, (key, running) -> running == null
+                    ? CompletableFuture.runAsync(() -> flush(id), flushers)
+                    : running.thenRunAsync(() -> flush(id), flushers));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Autosave of tax form {} left for the shutdown flush", id, e);
+            return;
+        }
+
+        chained.whenComplete((ignored, e) -> flushing.remove(id, chained));
+    }
+
+    private void awaitFlushing(Integer id) {
+        CompletableFuture<Void> running = flushing.get(id);
+        if (running == null) {
+            return;
+        }
+
+        try {
+            running.get(autosave.getAckTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // A rejected flush leaves its save pending for the shutdown flush; failed saves reach their own waiters
+            logger.debug("Earlier autosave of tax form {} did not run", id, e);
+        } catch (TimeoutException e) {
+            throw new TaxFormAutosaveTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaxFormAutosaveTimeoutException();
+        }
+    }
+
+    private void flush(Integer id) {
+        PendingSave pendingSave = pending.remove(id);
+        if (pendingSave == null) {
+            return;
+        }
+
+        capacity.release();
+        try {
+            Optional<TaxFormDto> taxFormDto = taxFormService.save(id, null, pendingSave.taxFormDetailsRequest);
+            pendingSave.waiters.forEach(waiter -> waiter.complete(taxFormDto));
+        } catch (RuntimeException e) {
+            taxFormMetrics.recordAutosaveFailure(e.getClass().getSimpleName());
+            logger.warn("Autosave of tax form {} failed", id, e);
+            pendingSave.waiters.forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+
+    private static class PendingSave {
+        private TaxFormDetailsRequest taxFormDetailsRequest;
+        private final List<CompletableFuture<Optional<TaxFormDto>>> waiters = new ArrayList<>();
+
+        private PendingSave(TaxFormDetailsRequest taxFormDetailsRequest,
+                            CompletableFuture<Optional<TaxFormDto>> waiter) {
+            this.taxFormDetailsRequest = taxFormDetailsRequest;
+            this.waiters.add(waiter);
+        }
+    }
+}
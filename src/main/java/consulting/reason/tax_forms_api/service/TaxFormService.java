@@ -1,21 +1,47 @@
 package consulting.reason.tax_forms_api.service;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.TaxFormPageDto;
+import consulting.reason.tax_forms_api.dto.TaxFormSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionResultDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearStateDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearSummaryDto;
 import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.dto.request.TaxFormTransitionRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaxFormService {
     List<TaxFormDto> findAllByYear(Integer year);
 
+    List<TaxFormSummaryDto> findSummariesByYear(Integer year);
+
+    TaxFormYearStateDto findStateByYear(Integer year);
+
+    TaxFormPageDto findPageByYear(Integer year, String cursor, Integer limit);
+
+    TaxFormPageDto findChanges(String since, Integer limit);
+
+    TaxFormYearSummaryDto summarizeByYear(Integer year);
+
+    void exportByYear(Integer year, Consumer<TaxFormDto> consumer);
+
     Optional<TaxFormDto> findById(Integer id);
 
-    Optional<TaxFormDto> save(Integer id, TaxFormDetailsRequest taxFormDetailsRequest);
+    Optional<TaxFormSummaryDto> findSummaryById(Integer id);
+
+    Optional<TaxFormDto> save(Integer id, Integer version, TaxFormDetailsRequest taxFormDetailsRequest);
+
+    Optional<TaxFormSummaryDto> mergeDetails(Integer id, Integer version, ObjectNode detailsPatch, boolean complete);
     
-    Optional<TaxFormDto> submitForm(Integer id);
+    Optional<TaxFormDto> submitForm(Integer id, Integer version);
+
+	Optional<TaxFormDto> returnForm(Integer id, Integer version);
 
-	Optional<TaxFormDto> returnForm(Integer id);
+	Optional<TaxFormDto> acceptForm(Integer id, Integer version);
 
-	Optional<TaxFormDto> acceptForm(Integer id);
+    List<TaxFormTransitionResultDto> transitionAll(List<TaxFormTransitionRequest> taxFormTransitionRequests);
 }
@@ -1,121 +1,556 @@
 package consulting.reason.tax_forms_api.service;
 
-import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import consulting.reason.tax_forms_api.cache.TaxFormCache;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
 import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.TaxFormPageDto;
+import consulting.reason.tax_forms_api.dto.TaxFormStatusSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionResultDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearStateDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearSummaryDto;
 import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.dto.request.TaxFormTransitionRequest;
+import consulting.reason.tax_forms_api.entity.TaxForm;
 import consulting.reason.tax_forms_api.entity.TaxFormHistory;
-import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
-import consulting.reason.tax_forms_api.repository.TaxFormRepository;
+import consulting.reason.tax_forms_api.entity.TaxFormOutbox;
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.event.TaxFormChangedEvent;
+import consulting.reason.tax_forms_api.event.TaxFormTransitionedEvent;
+import consulting.reason.tax_forms_api.exception.TaxFormNotFoundException;
+import consulting.reason.tax_forms_api.exception.TaxFormPageRequestException;
+import consulting.reason.tax_forms_api.exception.TaxFormPatchException;
+import consulting.reason.tax_forms_api.exception.TaxFormStatusException;
+import consulting.reason.tax_forms_api.exception.TaxFormVersionException;
+import consulting.reason.tax_forms_api.mapper.TaxFormMapper;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.repository.TaxFormChange;
 import consulting.reason.tax_forms_api.repository.TaxFormHistoryRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormOutboxRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormState;
+import consulting.reason.tax_forms_api.repository.TaxFormStatusCount;
+import consulting.reason.tax_forms_api.util.TaxFormCursorUtils;
+import consulting.reason.tax_forms_api.util.TaxFormETagUtils;
 import consulting.reason.tax_forms_api.util.TaxFormStatusUtils;
-import org.modelmapper.ModelMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaxFormServiceImpl implements TaxFormService {
     private final TaxFormRepository taxFormRepository;
     private final TaxFormHistoryRepository taxFormHistoryRepository;
-    private final ModelMapper modelMapper;
+    private final TaxFormOutboxRepository taxFormOutboxRepository;
+    private final TaxFormMapper taxFormMapper;
+    private final TaxFormsApiProperties taxFormsApiProperties;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TaxFormMetrics taxFormMetrics;
+    private final TaxFormCache taxFormCache;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     public TaxFormServiceImpl(TaxFormRepository taxFormRepository,
-                              ModelMapper modelMapper,
-                              TaxFormHistoryRepository taxFormHistoryRepository) {
+                              TaxFormMapper taxFormMapper,
+                              TaxFormHistoryRepository taxFormHistoryRepository,
+                              TaxFormOutboxRepository taxFormOutboxRepository,
+                              TaxFormsApiProperties taxFormsApiProperties,
+                              EntityManager entityManager,
+                              ApplicationEventPublisher applicationEventPublisher,
+                              TaxFormMetrics taxFormMetrics,
+                              TaxFormCache taxFormCache,
+                              PlatformTransactionManager transactionManager) {
         this.taxFormRepository = taxFormRepository;
 		this.taxFormHistoryRepository = taxFormHistoryRepository;
-        this.modelMapper = modelMapper;
+        this.taxFormOutboxRepository = taxFormOutboxRepository;
+        this.taxFormMapper = taxFormMapper;
+        this.taxFormsApiProperties = taxFormsApiProperties;
+        this.entityManager = entityManager;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.taxFormMetrics = taxFormMetrics;
+        this.taxFormCache = taxFormCache;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TaxFormDto> findAllByYear(Integer year) {
-        return taxFormRepository.findAllByFormYear(year).stream()
-                .map(taxForm -> modelMapper.map(taxForm, TaxFormDto.class))
+        List<TaxForm> taxForms = taxFormMetrics.recordDb("findAllByYear", () -> taxFormRepository.findAllByFormYear(year));
+        List<TaxFormDto> taxFormDtos = taxFormMetrics.recordMapping("findAllByYear", () -> taxForms.stream()
+                .map(taxFormMapper::toDto)
+                .toList());
+        taxFormMetrics.recordListSize("findAllByYear", taxFormDtos.size());
+
+        return taxFormDtos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaxFormSummaryDto> findSummariesByYear(Integer year) {
+        List<TaxFormSummaryDto> taxFormSummaryDtos = taxFormMetrics.recordDb(
+                "findSummariesByYear",
+                () -> taxFormRepository.findSummariesByFormYear(year)
+        );
+        taxFormMetrics.recordListSize("findSummariesByYear", taxFormSummaryDtos.size());
+
+        return taxFormSummaryDtos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaxFormYearStateDto findStateByYear(Integer year) {
+        return taxFormMetrics.recordDb("findStateByYear", () -> taxFormRepository.findStateByFormYear(year));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaxFormPageDto findPageByYear(Integer year, String cursor, Integer limit) {
+        if (limit < 1) {
+            throw new TaxFormPageRequestException("Page limit must be at least 1");
+        }
+
+        int pageSize = Math.min(limit, taxFormsApiProperties.getPagination().getMaxLimit());
+        Integer afterId = cursor != null ? TaxFormCursorUtils.decodeId(cursor) : 0;
+
+        // Seek one row past the page so the next cursor is only issued when more rows exist
+        List<Integer> ids = taxFormMetrics.recordDb(
+                "findPageByYear",
+                () -> taxFormRepository.findIdsByFormYearAfter(year, afterId, Limit.of(pageSize + 1))
+        );
+        boolean hasNext = ids.size() > pageSize;
+        List<Integer> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        List<TaxFormDto> items = findAllByIds("findPageByYear", pageIds);
+        taxFormMetrics.recordListSize("findPageByYear", items.size());
+
+        return TaxFormPageDto.builder()
+                .items(items)
+                .nextCursor(hasNext ? TaxFormCursorUtils.encodeId(pageIds.get(pageSize - 1)) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaxFormPageDto findChanges(String since, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new TaxFormPageRequestException("Page limit must be at least 1");
+        }
+
+        int maxLimit = taxFormsApiProperties.getPagination().getMaxLimit();
+        int pageSize = limit != null ? Math.min(limit, maxLimit) : maxLimit;
+        Long afterXid = since != null ? TaxFormCursorUtils.decodeChangeWriteXid(since) : 0L;
+        Integer afterId = since != null ? TaxFormCursorUtils.decodeChangeId(since) : 0;
+
+        List<TaxFormChange> changes = taxFormMetrics.recordDb(
+                "findChanges",
+                () -> taxFormRepository.findChangesAfter(afterXid, afterId, pageSize)
+        );
+        List<TaxFormDto> items = findAllByIds("findChanges", changes.stream()
+                .map(TaxFormChange::getId)
+                .toList());
+        taxFormMetrics.recordListSize("findChanges", items.size());
+
+        if (changes.isEmpty()) {
+            return TaxFormPageDto.builder()
+                    .items(items)
+                    .nextCursor(since)
+                    .build();
+        }
+
+        TaxFormChange lastChange = changes.get(changes.size() - 1);
+        return TaxFormPageDto.builder()
+                .items(items)
+                .nextCursor(TaxFormCursorUtils.encodeChange(lastChange.getWriteXid(), lastChange.getId()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaxFormYearSummaryDto summarizeByYear(Integer year) {
+        Map<TaxFormStatus, TaxFormStatusCount> counts = taxFormMetrics.recordDb(
+                        "summarizeByYear",
+                        () -> taxFormRepository.countByStatusForFormYear(year)
+                )
+                .stream()
+                .collect(Collectors.toMap(count -> TaxFormStatus.valueOf(count.getStatus()), Function.identity()));
+
+        List<TaxFormStatusSummaryDto> statuses = Arrays.stream(TaxFormStatus.values())
+                .map(status -> toStatusSummaryDto(status, counts.get(status)))
                 .toList();
+
+        return TaxFormYearSummaryDto.builder()
+                .formYear(year)
+                .count(statuses.stream().mapToLong(TaxFormStatusSummaryDto::getCount).sum())
+                .assessedValue(statuses.stream().mapToLong(TaxFormStatusSummaryDto::getAssessedValue).sum())
+                .appraisedValue(statuses.stream().mapToLong(TaxFormStatusSummaryDto::getAppraisedValue).sum())
+                .statuses(statuses)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
+    public void exportByYear(Integer year, Consumer<TaxFormDto> consumer) {
+        try (Stream<TaxForm> taxForms = taxFormRepository.streamAllByFormYearOrderById(year)) {
+            List<TaxForm> chunk = new ArrayList<>(TaxFormRepository.STREAM_FETCH_SIZE);
+            Iterator<TaxForm> iterator = taxForms.iterator();
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+
+                if (chunk.size() == TaxFormRepository.STREAM_FETCH_SIZE) {
+                    exportChunk(chunk, consumer);
+                }
+            }
+
+            exportChunk(chunk, consumer);
+        }
+    }
+
+    @Override
     public Optional<TaxFormDto> findById(Integer id) {
-        return taxFormRepository.findById(id)
-                .map(taxForm -> modelMapper.map(taxForm, TaxFormDto.class));
+        // Hits never touch the pool; writes evict after commit here and over NOTIFY on the other nodes
+        Optional<TaxFormDto> cached = taxFormCache.get(id);
+        if (cached.isPresent()) {
+            return cached.map(taxFormMapper::copy);
+        }
+
+        Optional<TaxFormDto> taxFormDto = readOnlyTransactionTemplate.execute(status -> {
+            Optional<TaxForm> taxForm = taxFormMetrics.recordDb("findById", () -> taxFormRepository.findWithHistoryById(id));
+
+            return taxFormMetrics.recordMapping("findById", () -> taxForm.map(taxFormMapper::toDto));
+        });
+        taxFormDto.ifPresent(taxFormCache::put);
+
+        return taxFormDto.map(taxFormMapper::copy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TaxFormSummaryDto> findSummaryById(Integer id) {
+        return taxFormMetrics.recordDb("findSummaryById", () -> taxFormRepository.findSummaryById(id));
     }
 
     @Override
     @Transactional
-    public Optional<TaxFormDto> save(Integer id, TaxFormDetailsRequest taxFormDetailsRequest) {
-        return taxFormRepository.findById(id)
+    public Optional<TaxFormDto> save(Integer id, Integer version, TaxFormDetailsRequest taxFormDetailsRequest) {
+        return taxFormMetrics.recordDb("save", () -> taxFormRepository.findById(id))
                 .map(taxForm -> {
-                    TaxFormStatusUtils.save(taxForm);
-                    taxForm.setDetails(modelMapper.map(taxFormDetailsRequest, TaxFormDetailsDto.class));
+                    TaxFormStatus from = taxForm.getStatus();
+                    TaxFormETagUtils.checkVersion(id, version, taxForm.getVersion());
+                    try {
+                        TaxFormStatusUtils.save(taxForm);
+                    } catch (TaxFormStatusException e) {
+                        taxFormMetrics.recordRejectedTransition(from, TaxFormStatus.IN_PROGRESS, "status");
+                        throw e;
+                    }
+                    taxForm.setDetails(taxFormMetrics.recordMapping(
+                            "save",
+                            () -> taxFormMapper.toDetailsDto(taxFormDetailsRequest)
+                    ));
 
-                    taxFormRepository.save(taxForm);
+                    taxFormMetrics.recordDb("save", () -> taxFormRepository.saveAndFlush(taxForm));
+                    if (from != taxForm.getStatus()) {
+                        taxFormMetrics.recordTransition(from, taxForm.getStatus());
+                    }
+                    publishChanged(taxForm.getId(), taxForm.getFormYear(), taxForm.getVersion());
 
-                    return modelMapper.map(taxForm, TaxFormDto.class);
+                    return taxFormMetrics.recordMapping("save", () -> taxFormMapper.toDto(taxForm));
                 });
     }
 
-	@Override
-	public Optional<TaxFormDto> submitForm(Integer id) {
-		return taxFormRepository.findById(id)
-                .map(taxForm -> {
-                    TaxFormStatusUtils.submit(taxForm);
-
-                    taxFormRepository.save(taxForm);
-                    
-                    TaxFormHistory history = TaxFormHistory.builder()
-        					.taxForm(taxForm)
-        					.createdAt(ZonedDateTime.now())
-        					.type(TaxFormHistoryType.SUBMITTED)
-        					.build();
-                    
-                    taxFormHistoryRepository.save(history);
-
-                    return modelMapper.map(taxForm, TaxFormDto.class);
-                });
-	}
+    @Override
+    @Transactional
+    public Optional<TaxFormSummaryDto> mergeDetails(Integer id, Integer version, ObjectNode detailsPatch, boolean complete) {
+        Set<TaxFormStatus> allowedFrom = TaxFormStatusUtils.allowedFrom(TaxFormStatus.IN_PROGRESS);
+        Optional<String> previousStatus = taxFormMetrics.recordDb("mergeDetails", () -> taxFormRepository.mergeDetails(
+                id,
+                detailsPatch.toString(),
+                complete,
+                TaxFormStatus.IN_PROGRESS.name(),
+                allowedFrom.stream()
+                        .map(TaxFormStatus::name)
+                        .toList(),
+                version,
+                ZonedDateTime.now()
+        ));
 
-	@Override
-	public Optional<TaxFormDto> returnForm(Integer id) {
-		return taxFormRepository.findById(id)
-                .map(taxForm -> {
-                    TaxFormStatusUtils.returnForm(taxForm);
-
-                    taxFormRepository.save(taxForm);
-                    
-                    TaxFormHistory history = TaxFormHistory.builder()
-        					.taxForm(taxForm)
-        					.createdAt(ZonedDateTime.now())
-        					.type(TaxFormHistoryType.RETURNED)
-        					.build();
-                    
-                    taxFormHistoryRepository.save(history);
-
-                    return modelMapper.map(taxForm, TaxFormDto.class);
-                });
-	}
+        if (previousStatus.isEmpty()) {
+            if (!complete && isUpdatable(id, version, allowedFrom)) {
+                throw new TaxFormPatchException("Form %d has no details yet, so the patch must include every required field".formatted(id));
+            }
 
-	@Override
-	public Optional<TaxFormDto> acceptForm(Integer id) {
-		return taxFormRepository.findById(id)
-                .map(taxForm -> {
-                    TaxFormStatusUtils.accept(taxForm);
-
-                    taxFormRepository.save(taxForm);
-                    
-                    TaxFormHistory history = TaxFormHistory.builder()
-        					.taxForm(taxForm)
-        					.createdAt(ZonedDateTime.now())
-        					.type(TaxFormHistoryType.ACCEPTED)
-        					.build();
-                    
-                    taxFormHistoryRepository.save(history);
-
-                    return modelMapper.map(taxForm, TaxFormDto.class);
-                });
-	}
+            return rejectUpdate(id, version, TaxFormStatus.IN_PROGRESS);
+        }
+
+        TaxFormStatus from = TaxFormStatus.valueOf(previousStatus.get());
+        if (from != TaxFormStatus.IN_PROGRESS) {
+            taxFormMetrics.recordTransition(from, TaxFormStatus.IN_PROGRESS);
+        }
+        Optional<TaxFormSummaryDto> taxFormSummaryDto = taxFormMetrics.recordDb(
+                "mergeDetails",
+                () -> taxFormRepository.findSummaryById(id)
+        );
+        taxFormSummaryDto.ifPresent(dto -> publishChanged(dto.getId(), dto.getFormYear(), dto.getVersion()));
+
+        return taxFormSummaryDto;
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaxFormDto> submitForm(Integer id, Integer version) {
+        return transition(id, version, TaxFormAction.SUBMIT);
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaxFormDto> returnForm(Integer id, Integer version) {
+        return transition(id, version, TaxFormAction.RETURN);
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaxFormDto> acceptForm(Integer id, Integer version) {
+        return transition(id, version, TaxFormAction.ACCEPT);
+    }
+
+    @Override
+    @Transactional
+    public List<TaxFormTransitionResultDto> transitionAll(List<TaxFormTransitionRequest> taxFormTransitionRequests) {
+        Map<Integer, TaxForm> taxForms = taxFormMetrics.recordDb(
+                        "transitionAll",
+                        () -> taxFormRepository.findAllById(taxFormTransitionRequests.stream()
+                                .map(TaxFormTransitionRequest::getId)
+                                .collect(Collectors.toSet()))
+                )
+                .stream()
+                .collect(Collectors.toMap(TaxForm::getId, Function.identity()));
+
+        List<TaxFormTransitionResultDto> results = new ArrayList<>(taxFormTransitionRequests.size());
+        Map<Integer, TaxForm> transitioned = new HashMap<>();
+        Map<TaxFormHistory, TaxFormStatus> history = new LinkedHashMap<>();
+
+        for (TaxFormTransitionRequest taxFormTransitionRequest : taxFormTransitionRequests) {
+            TaxFormTransitionResultDto.TaxFormTransitionResultDtoBuilder result = TaxFormTransitionResultDto.builder()
+                    .id(taxFormTransitionRequest.getId())
+                    .action(taxFormTransitionRequest.getAction());
+            TaxForm taxForm = taxForms.get(taxFormTransitionRequest.getId());
+
+            if (taxForm == null) {
+                results.add(result
+                        .message(TaxFormNotFoundException.message(taxFormTransitionRequest.getId()))
+                        .build());
+                continue;
+            }
+
+            TaxFormAction action = taxFormTransitionRequest.getAction();
+            if (!TaxFormETagUtils.matchesVersion(taxFormTransitionRequest.getVersion(), taxForm.getVersion())) {
+                taxFormMetrics.recordRejectedTransition(taxForm.getStatus(), action.getStatus(), "version");
+                result.message(TaxFormVersionException.message(taxForm.getId()));
+            } else if (!TaxFormStatusUtils.canTransition(taxForm.getStatus(), action)) {
+                taxFormMetrics.recordRejectedTransition(taxForm.getStatus(), action.getStatus(), "status");
+                result.message(TaxFormStatusException.message(taxForm.getId(), taxForm.getStatus(), action.getStatus()));
+            } else {
+                taxFormMetrics.recordTransition(taxForm.getStatus(), action.getStatus());
+                taxForm.setStatus(action.getStatus());
+                transitioned.put(taxForm.getId(), taxForm);
+                history.put(TaxFormHistory.builder()
+                        .taxForm(taxForm)
+                        .createdAt(ZonedDateTime.now())
+                        .type(action.getHistoryType())
+                        .build(), action.getStatus());
+                result.success(true);
+            }
+
+            results.add(result
+                    .status(taxForm.getStatus())
+                    .build());
+        }
+
+        // Flushing here bumps each form's version, which the transitions carry for per-form ordering downstream
+        taxFormMetrics.recordDb("transitionAll", () -> {
+            taxFormRepository.saveAll(transitioned.values());
+            List<TaxFormHistory> saved = taxFormHistoryRepository.saveAll(history.keySet());
+            taxFormRepository.flush();
+            return saved;
+        });
+        transitioned.values().forEach(taxForm -> publishChanged(taxForm.getId(), taxForm.getFormYear(), taxForm.getVersion()));
+        recordTransitions("transitionAll", history.entrySet().stream()
+                .map(entry -> toTransitionDto(entry.getKey(), entry.getKey().getTaxForm(), entry.getValue()))
+                .toList());
+
+        return results;
+    }
+
+    private Optional<TaxFormDto> transition(Integer id, Integer version, TaxFormAction action) {
+        String operation = action.name().toLowerCase();
+        Optional<TaxFormStatus> from = updateStatus(operation, id, version, action);
+        if (from.isEmpty()) {
+            return rejectUpdate(id, version, action.getStatus());
+        }
+
+        taxFormMetrics.recordTransition(from.get(), action.getStatus());
+        TaxFormHistory taxFormHistory = TaxFormHistory.builder()
+                .taxForm(taxFormRepository.getReferenceById(id))
+                .createdAt(ZonedDateTime.now())
+                .type(action.getHistoryType())
+                .build();
+        Optional<TaxForm> taxForm = taxFormMetrics.recordDb(operation, () -> {
+            taxFormHistoryRepository.save(taxFormHistory);
+
+            return taxFormRepository.findWithHistoryById(id);
+        });
+
+        Optional<TaxFormDto> taxFormDto = taxFormMetrics.recordMapping(operation, () -> taxForm.map(taxFormMapper::toDto));
+        taxFormDto.ifPresent(dto -> {
+            publishChanged(dto.getId(), dto.getFormYear(), dto.getVersion());
+            recordTransitions(operation, List.of(toTransitionDto(taxFormHistory, dto.getFormYear(), dto.getVersion(), action.getStatus())));
+        });
+
+        return taxFormDto;
+    }
+
+    // One conditional UPDATE per source status, so the applied transition is known exactly;
+    // every action currently has a single source status
+    private Optional<TaxFormStatus> updateStatus(String operation, Integer id, Integer version, TaxFormAction action) {
+        for (TaxFormStatus from : TaxFormStatusUtils.allowedFrom(action)) {
+            int updated = taxFormMetrics.recordDb(operation, () -> taxFormRepository.updateStatus(
+                    id,
+                    action.getStatus(),
+                    from,
+                    version,
+                    ZonedDateTime.now()
+            ));
+            if (updated > 0) {
+                return Optional.of(from);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isUpdatable(Integer id, Integer version, Set<TaxFormStatus> allowedFrom) {
+        return taxFormRepository.findStateById(id)
+                .filter(taxFormState -> allowedFrom.contains(taxFormState.getStatus()))
+                .filter(taxFormState -> TaxFormETagUtils.matchesVersion(version, taxFormState.getVersion()))
+                .isPresent();
+    }
+
+    private <T> Optional<T> rejectUpdate(Integer id, Integer version, TaxFormStatus taxFormStatus) {
+        Optional<TaxFormState> currentState = taxFormRepository.findStateById(id);
+        if (currentState.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TaxFormStatus currentStatus = currentState.get().getStatus();
+        if (!TaxFormETagUtils.matchesVersion(version, currentState.get().getVersion())) {
+            taxFormMetrics.recordRejectedTransition(currentStatus, taxFormStatus, "version");
+            throw new TaxFormVersionException(id);
+        }
+
+        taxFormMetrics.recordRejectedTransition(currentStatus, taxFormStatus, "status");
+        throw new TaxFormStatusException(id, currentStatus, taxFormStatus);
+    }
+
+    private TaxFormStatusSummaryDto toStatusSummaryDto(TaxFormStatus status, TaxFormStatusCount count) {
+        TaxFormStatusSummaryDto.TaxFormStatusSummaryDtoBuilder summary = TaxFormStatusSummaryDto.builder()
+                .status(status);
+        if (count == null) {
+            return summary.build();
+        }
+
+        return summary
+                .count(count.getFormCount())
+                .assessedValue(count.getAssessedValue() == null ? 0 : count.getAssessedValue())
+                .appraisedValue(count.getAppraisedValue() == null ? 0 : count.getAppraisedValue())
+                .build();
+    }
+
+    private void publishChanged(Integer id, Integer formYear, Integer version) {
+        applicationEventPublisher.publishEvent(new TaxFormChangedEvent(id, formYear, version));
+    }
+
+    private TaxFormTransitionDto toTransitionDto(TaxFormHistory taxFormHistory, TaxForm taxForm, TaxFormStatus status) {
+        return toTransitionDto(taxFormHistory, taxForm.getFormYear(), taxForm.getVersion(), status);
+    }
+
+    private TaxFormTransitionDto toTransitionDto(TaxFormHistory taxFormHistory, Integer formYear, Integer version, TaxFormStatus status) {
+        return TaxFormTransitionDto.builder()
+                .formYear(formYear)
+                .version(version)
+                .status(status)
+                .history(taxFormMapper.toHistoryDto(taxFormHistory))
+                .build();
+    }
+
+    private void recordTransitions(String operation, List<TaxFormTransitionDto> transitions) {
+        // Outbox rows commit or roll back together with the history rows they describe
+        if (taxFormsApiProperties.getOutbox().isEnabled() && !transitions.isEmpty()) {
+            taxFormMetrics.recordDb(operation, () -> taxFormOutboxRepository.saveAll(transitions.stream()
+                    .map(transition -> TaxFormOutbox.builder()
+                            .taxFormId(transition.getHistory().getTaxFormId())
+                            .type(transition.getHistory().getType())
+                            .payload(transition)
+                            .build())
+                    .toList()));
+        }
+
+        transitions.forEach(transition -> applicationEventPublisher.publishEvent(new TaxFormTransitionedEvent(
+                transition.getFormYear(),
+                transition.getStatus(),
+                transition.getHistory()
+        )));
+    }
+
+    private void exportChunk(List<TaxForm> chunk, Consumer<TaxFormDto> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Initializes the history of every managed form in the chunk with a single query
+        taxFormMetrics.recordDb("exportByYear", () -> taxFormRepository.findAllByIdIn(chunk.stream().map(TaxForm::getId).toList()));
+        taxFormMetrics.recordMapping("exportByYear", () -> chunk.stream()
+                        .map(taxFormMapper::toDto)
+                        .toList())
+                .forEach(consumer);
+
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private List<TaxFormDto> findAllByIds(String operation, List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<TaxForm> taxForms = taxFormMetrics.recordDb(operation, () -> taxFormRepository.findAllByIdIn(ids));
+        Map<Integer, TaxFormDto> taxFormDtos = taxFormMetrics.recordMapping(operation, () -> taxForms.stream()
+                .map(taxFormMapper::toDto)
+                .collect(Collectors.toMap(TaxFormDto::getId, Function.identity())));
+
+        return ids.stream()
+                .map(taxFormDtos::get)
+                .toList();
+    }
 }
@@ -0,0 +1,173 @@
+package consulting.reason.tax_forms_api.sse;
+
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.event.TaxFormTransitionedEvent;
+import consulting.reason.tax_forms_api.exception.TaxFormStreamUnavailableException;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class TaxFormTransitionBroadcaster {
+    public static final String EVENT_NAME = "transition";
+    private final Logger logger = LoggerFactory.getLogger(TaxFormTransitionBroadcaster.class);
+    private final TaxFormsApiProperties.Sse sse;
+    private final TaxFormMetrics taxFormMetrics;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tax-form-sse-", 0).factory());
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("tax-form-sse-heartbeat").daemon().factory());
+
+    public TaxFormTransitionBroadcaster(TaxFormsApiProperties taxFormsApiProperties,
+                                        TaxFormMetrics taxFormMetrics) {
+        this.sse = taxFormsApiProperties.getSse();
+        this.taxFormMetrics = taxFormMetrics;
+        taxFormMetrics.registerSseSubscribers(subscribers);
+
+        long interval = sse.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Integer formYear, Collection<TaxFormStatus> statuses) {
+        if (dispatcher.isShutdown() || subscribers.size() >= sse.getMaxSubscribers()) {
+            throw new TaxFormStreamUnavailableException();
+        }
+
+        SseEmitter emitter = new SseEmitter(sse.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(
+                emitter,
+                formYear,
+                statuses == null || statuses.isEmpty() ? EnumSet.allOf(TaxFormStatus.class) : EnumSet.copyOf(statuses),
+                new ArrayBlockingQueue<>(sse.getBufferSize())
+        );
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaxFormTransitioned(TaxFormTransitionedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                offer(subscriber, SseEmitter.event()
+                        .id(String.valueOf(event.getHistory().getId()))
+                        .name(EVENT_NAME)
+                        .data(event.getHistory()));
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        // A full buffer means the client stopped reading, so it is cut loose rather than slowing the publisher
+        if (!subscriber.queue.offer(event)) {
+            drop(subscriber, "slow");
+            return;
+        }
+
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Closing tax form transition stream", e);
+                    subscribers.remove(subscriber);
+                    subscriber.queue.clear();
+                    return;
+                }
+            }
+
+            subscriber.draining.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+
+        taxFormMetrics.recordSseDropped(reason);
+        subscriber.queue.clear();
+        try {
+            // Completing waits on the emitter's lock, which a blocked send may be holding
+            dispatcher.execute(subscriber.emitter::complete);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dispatcher stopped before tax form transition stream could be closed", e);
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final Integer formYear;
+        private final Set<TaxFormStatus> statuses;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter,
+                           Integer formYear,
+                           Set<TaxFormStatus> statuses,
+                           BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.emitter = emitter;
+            this.formYear = formYear;
+            this.statuses = statuses;
+            this.queue = queue;
+        }
+
+        private boolean accepts(TaxFormTransitionedEvent event) {
+            return (formYear == null || formYear.equals(event.getFormYear()))
+                    && statuses.contains(event.getStatus());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package consulting.reason.tax_forms_api.util;
+
+import consulting.reason.tax_forms_api.exception.TaxFormPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class TaxFormCursorUtils {
+    private static final String CHANGE_SEPARATOR = ",";
+
+    public static String encodeId(Integer id) {
+        return encode(id.toString());
+    }
+
+    public static Integer decodeId(String cursor) throws TaxFormPageRequestException {
+        try {
+            return Integer.valueOf(decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new TaxFormPageRequestException("Invalid cursor %s".formatted(cursor));
+        }
+    }
+
+    public static String encodeChange(Long writeXid, Integer id) {
+        return encode(writeXid + CHANGE_SEPARATOR + id);
+    }
+
+    public static Long decodeChangeWriteXid(String cursor) throws TaxFormPageRequestException {
+        try {
+            return Long.valueOf(decodeChange(cursor)[0]);
+        } catch (IllegalArgumentException e) {
+            throw new TaxFormPageRequestException("Invalid cursor %s".formatted(cursor));
+        }
+    }
+
+    public static Integer decodeChangeId(String cursor) throws TaxFormPageRequestException {
+        try {
+            return Integer.valueOf(decodeChange(cursor)[1]);
+        } catch (IllegalArgumentException e) {
+            throw new TaxFormPageRequestException("Invalid cursor %s".formatted(cursor));
+        }
+    }
+
+    private static String[] decodeChange(String cursor) {
+        String[] parts = decode(cursor).split(CHANGE_SEPARATOR);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected a write xid and id pair");
+        }
+
+        return parts;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package consulting.reason.tax_forms_api.util;
+
+import consulting.reason.tax_forms_api.exception.TaxFormVersionException;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+public class TaxFormETagUtils {
+    private static final String ANY = "*";
+
+    public static String toETag(Integer version) {
+        return "\"%d\"".formatted(version);
+    }
+
+    // updated_at is stamped before commit, so a late commit can leave MAX(updated_at) unchanged; every write bumps a version
+    public static String toYearETag(Integer year, long count, Long versionSum, ZonedDateTime lastUpdatedAt) {
+        long lastUpdatedMicros = lastUpdatedAt != null
+                ? ChronoUnit.MICROS.between(Instant.EPOCH, lastUpdatedAt.toInstant())
+                : 0;
+
+        return "\"%d-%d-%d-%d\"".formatted(year, count, versionSum != null ? versionSum : 0, lastUpdatedMicros);
+    }
+
+    public static Integer parseIfMatch(Integer id, String ifMatch) throws TaxFormVersionException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+
+        String eTag = ifMatch.trim();
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            throw new TaxFormVersionException(id);
+        }
+
+        try {
+            return Integer.valueOf(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new TaxFormVersionException(id);
+        }
+    }
+
+    public static boolean matchesVersion(Integer expectedVersion, Integer version) {
+        return expectedVersion == null || expectedVersion.equals(version);
+    }
+
+    public static void checkVersion(Integer id, Integer expectedVersion, Integer version) throws TaxFormVersionException {
+        if (!matchesVersion(expectedVersion, version)) {
+            throw new TaxFormVersionException(id);
+        }
+    }
+}
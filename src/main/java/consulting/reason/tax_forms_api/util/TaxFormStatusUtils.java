@@ -1,61 +1,83 @@
 package consulting.reason.tax_forms_api.util;
 
 import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
 import consulting.reason.tax_forms_api.enums.TaxFormStatus;
 import consulting.reason.tax_forms_api.exception.TaxFormStatusException;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public class TaxFormStatusUtils {
-    public static void save(TaxForm taxForm) throws TaxFormStatusException {
-        if (taxForm.getStatus().equals(TaxFormStatus.SUBMITTED) ||
-                taxForm.getStatus().equals(TaxFormStatus.ACCEPTED)) {
-            throw new TaxFormStatusException(
-                    taxForm,
-                    TaxFormStatus.IN_PROGRESS
-            );
+    // Bitmask of permitted source statuses indexed by target status ordinal
+    private static final int[] ALLOWED_FROM_MASKS = new int[TaxFormStatus.values().length];
+    private static final Map<TaxFormStatus, Set<TaxFormStatus>> ALLOWED_FROM = new EnumMap<>(TaxFormStatus.class);
+
+    static {
+        allow(TaxFormStatus.IN_PROGRESS, TaxFormStatus.NOT_STARTED, TaxFormStatus.IN_PROGRESS, TaxFormStatus.RETURNED);
+        allow(TaxFormStatus.SUBMITTED, TaxFormStatus.IN_PROGRESS);
+        allow(TaxFormStatus.RETURNED, TaxFormStatus.SUBMITTED);
+        allow(TaxFormStatus.ACCEPTED, TaxFormStatus.SUBMITTED);
+
+        for (TaxFormStatus taxFormStatus : TaxFormStatus.values()) {
+            ALLOWED_FROM.putIfAbsent(taxFormStatus, Collections.emptySet());
         }
+    }
+
+    public static boolean canTransition(TaxFormStatus from, TaxFormStatus to) {
+        return (ALLOWED_FROM_MASKS[to.ordinal()] & (1 << from.ordinal())) != 0;
+    }
 
-        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+    public static boolean canTransition(TaxFormStatus from, TaxFormAction action) {
+        return canTransition(from, action.getStatus());
+    }
+
+    public static Set<TaxFormStatus> allowedFrom(TaxFormStatus to) {
+        return ALLOWED_FROM.get(to);
+    }
+
+    public static Set<TaxFormStatus> allowedFrom(TaxFormAction action) {
+        return allowedFrom(action.getStatus());
+    }
+
+    public static void save(TaxForm taxForm) throws TaxFormStatusException {
+        transition(taxForm, TaxFormStatus.IN_PROGRESS);
     }
 
     public static void submit(TaxForm taxForm) throws TaxFormStatusException {
-        if (taxForm.getStatus().equals(TaxFormStatus.SUBMITTED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.NOT_STARTED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.RETURNED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.ACCEPTED)) {
-        	throw new TaxFormStatusException(
-                    taxForm,
-                    TaxFormStatus.SUBMITTED
-            );
-        }
-        
-        taxForm.setStatus(TaxFormStatus.SUBMITTED);
+        transition(taxForm, TaxFormStatus.SUBMITTED);
     }
 
     public static void returnForm(TaxForm taxForm) throws TaxFormStatusException {
-    	if (taxForm.getStatus().equals(TaxFormStatus.IN_PROGRESS) ||
-        		taxForm.getStatus().equals(TaxFormStatus.NOT_STARTED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.RETURNED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.ACCEPTED)) {
-        	throw new TaxFormStatusException(
-                    taxForm,
-                    TaxFormStatus.RETURNED
-            );
-        }
-        
-        taxForm.setStatus(TaxFormStatus.RETURNED);
+        transition(taxForm, TaxFormStatus.RETURNED);
     }
 
     public static void accept(TaxForm taxForm) throws TaxFormStatusException {
-    	if (taxForm.getStatus().equals(TaxFormStatus.IN_PROGRESS) ||
-        		taxForm.getStatus().equals(TaxFormStatus.NOT_STARTED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.RETURNED) ||
-        		taxForm.getStatus().equals(TaxFormStatus.ACCEPTED)) {
-        	throw new TaxFormStatusException(
-                    taxForm,
-                    TaxFormStatus.ACCEPTED
-            );
+        transition(taxForm, TaxFormStatus.ACCEPTED);
+    }
+
+    public static void transition(TaxForm taxForm, TaxFormAction action) throws TaxFormStatusException {
+        transition(taxForm, action.getStatus());
+    }
+
+    private static void transition(TaxForm taxForm, TaxFormStatus to) throws TaxFormStatusException {
+        if (!canTransition(taxForm.getStatus(), to)) {
+            throw new TaxFormStatusException(taxForm, to);
+        }
+
+        taxForm.setStatus(to);
+    }
+
+    private static void allow(TaxFormStatus to, TaxFormStatus... from) {
+        EnumSet<TaxFormStatus> allowedFrom = EnumSet.noneOf(TaxFormStatus.class);
+        for (TaxFormStatus taxFormStatus : from) {
+            allowedFrom.add(taxFormStatus);
+            ALLOWED_FROM_MASKS[to.ordinal()] |= 1 << taxFormStatus.ordinal();
         }
-        
-        taxForm.setStatus(TaxFormStatus.ACCEPTED);
+
+        ALLOWED_FROM.put(to, Collections.unmodifiableSet(allowedFrom));
     }
 }
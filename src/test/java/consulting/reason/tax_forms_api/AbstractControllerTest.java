@@ -2,6 +2,7 @@ package consulting.reason.tax_forms_api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import consulting.reason.tax_forms_api.config.ModelMapperConfig;
+import consulting.reason.tax_forms_api.mapper.TaxFormMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
@@ -9,11 +10,14 @@ import org.springframework.test.context.ActiveProfiles;
 
 @ActiveProfiles("test")
 @Import({
-        ModelMapperConfig.class
+        ModelMapperConfig.class,
+        TaxFormMapper.class
 })
 public abstract class AbstractControllerTest {
     @Autowired
     protected ModelMapper modelMapper;
     @Autowired
+    protected TaxFormMapper taxFormMapper;
+    @Autowired
     protected ObjectMapper objectMapper;
 }
@@ -0,0 +1,27 @@
+package consulting.reason.tax_forms_api;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+// Subclasses must also be annotated with @EnabledIfEnvironmentVariable(named = "TAX_FORMS_TEST_POSTGRES_URL").
+// Liquibase drops and recreates only the throwaway tax_forms_test schema, never the database's own schemas.
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${TAX_FORMS_TEST_POSTGRES_URL:}",
+        "spring.datasource.username=${TAX_FORMS_TEST_POSTGRES_USERNAME:}",
+        "spring.datasource.password=${TAX_FORMS_TEST_POSTGRES_PASSWORD:}",
+        "spring.datasource.hikari.schema=" + AbstractPostgresTest.SCHEMA,
+        "spring.datasource.hikari.connection-init-sql=CREATE SCHEMA IF NOT EXISTS " + AbstractPostgresTest.SCHEMA,
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.liquibase.enabled=true",
+        "spring.liquibase.change-log=classpath:liquibase/master.xml",
+        "spring.liquibase.default-schema=" + AbstractPostgresTest.SCHEMA,
+        "spring.liquibase.drop-first=true"
+})
+public abstract class AbstractPostgresTest {
+    public static final String SCHEMA = "tax_forms_test";
+}
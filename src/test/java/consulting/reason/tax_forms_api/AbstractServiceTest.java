@@ -1,6 +1,7 @@
 package consulting.reason.tax_forms_api;
 
 import consulting.reason.tax_forms_api.config.ModelMapperConfig;
+import consulting.reason.tax_forms_api.mapper.TaxFormMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -10,9 +11,12 @@ import org.springframework.test.context.ActiveProfiles;
 @ActiveProfiles("test")
 @DataJpaTest
 @Import({
-        ModelMapperConfig.class
+        ModelMapperConfig.class,
+        TaxFormMapper.class
 })
 public abstract class AbstractServiceTest {
     @Autowired
     protected ModelMapper modelMapper;
+    @Autowired
+    protected TaxFormMapper taxFormMapper;
 }
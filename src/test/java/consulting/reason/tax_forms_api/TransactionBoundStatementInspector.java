@@ -0,0 +1,16 @@
+package consulting.reason.tax_forms_api;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Fails any SQL issued outside a Spring-managed transaction, such as a lazy load after the service has returned
+public class TransactionBoundStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("SQL executed outside of a transaction: " + sql);
+        }
+
+        return sql;
+    }
+}
@@ -0,0 +1,58 @@
+package consulting.reason.tax_forms_api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import consulting.reason.tax_forms_api.config.CacheConfig;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+
+public class TaxFormCacheTest {
+    private final TaxFormCache taxFormCache = new TaxFormCache(new CaffeineCacheManager(CacheConfig.TAX_FORMS_CACHE));
+
+    @Test
+    void testPutKeepsNewerVersion() {
+        taxFormCache.put(taxFormDto(2));
+        taxFormCache.put(taxFormDto(1));
+
+        assertThat(taxFormCache.get(1))
+                .get()
+                .extracting(TaxFormDto::getVersion)
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testPutAfterEvictionOfNewerVersionIsIgnored() {
+        taxFormCache.evict(1, 2);
+        taxFormCache.put(taxFormDto(1));
+
+        assertThat(taxFormCache.get(1)).isEmpty();
+
+        taxFormCache.put(taxFormDto(2));
+
+        assertThat(taxFormCache.get(1))
+                .get()
+                .extracting(TaxFormDto::getVersion)
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testEvictWithoutVersionRemovesForm() {
+        taxFormCache.put(taxFormDto(1));
+        taxFormCache.evict(1, null);
+
+        assertThat(taxFormCache.get(1)).isEmpty();
+
+        taxFormCache.put(taxFormDto(1));
+
+        assertThat(taxFormCache.get(1)).isPresent();
+    }
+
+    private TaxFormDto taxFormDto(Integer version) {
+        return TaxFormDto.builder()
+                .id(1)
+                .version(version)
+                .build();
+    }
+}
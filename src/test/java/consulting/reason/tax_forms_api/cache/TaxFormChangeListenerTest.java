@@ -0,0 +1,89 @@
+package consulting.reason.tax_forms_api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import consulting.reason.tax_forms_api.config.CacheConfig;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.event.TaxFormChangedEvent;
+
+public class TaxFormChangeListenerTest {
+    @Test
+    void testPayloadRoundTrip() {
+        TaxFormChangedEvent event = new TaxFormChangedEvent(12, 2024, 3);
+
+        assertThat(TaxFormChangeNotifier.toPayload(event)).isEqualTo("12:2024:3");
+        assertThat(TaxFormChangeNotifier.fromPayload("12:2024:3")).isEqualTo(event);
+        assertThat(TaxFormChangeNotifier.fromPayload("12:2024")).isEqualTo(new TaxFormChangedEvent(12, 2024, null));
+        assertThatThrownBy(() -> TaxFormChangeNotifier.fromPayload("12"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaxFormChangeNotifier.fromPayload("a:2024"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "TAX_FORMS_TEST_POSTGRES_URL", matches = ".+")
+    void testNotificationEvictsCachedForm() throws InterruptedException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("TAX_FORMS_TEST_POSTGRES_URL"),
+                System.getenv("TAX_FORMS_TEST_POSTGRES_USERNAME"),
+                System.getenv("TAX_FORMS_TEST_POSTGRES_PASSWORD")
+        );
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(System.getenv("TAX_FORMS_TEST_POSTGRES_URL"));
+        dataSourceProperties.setUsername(System.getenv("TAX_FORMS_TEST_POSTGRES_USERNAME"));
+        dataSourceProperties.setPassword(System.getenv("TAX_FORMS_TEST_POSTGRES_PASSWORD"));
+        TaxFormCache taxFormCache = new TaxFormCache(new ConcurrentMapCacheManager(CacheConfig.TAX_FORMS_CACHE));
+        TaxFormsApiProperties taxFormsApiProperties = new TaxFormsApiProperties();
+        taxFormsApiProperties.getNotification().setEnabled(true);
+        TaxFormChangeListener listener = new TaxFormChangeListener(
+                dataSourceProperties,
+                taxFormCache,
+                taxFormsApiProperties
+        );
+
+        taxFormCache.put(taxFormDto(-1));
+        listener.start();
+        try {
+            // The listener clears the cache once its LISTEN is in place
+            awaitEviction(taxFormCache, -1);
+            taxFormCache.put(taxFormDto(1));
+            taxFormCache.put(taxFormDto(2));
+
+            new JdbcTemplate(dataSource).query(
+                    "SELECT pg_notify(?, ?)",
+                    resultSet -> null,
+                    taxFormsApiProperties.getNotification().getChannel(),
+                    TaxFormChangeNotifier.toPayload(new TaxFormChangedEvent(1, 2024, 2))
+            );
+
+            awaitEviction(taxFormCache, 1);
+            assertThat(taxFormCache.get(2)).isPresent();
+        } finally {
+            listener.stop();
+        }
+    }
+
+    private void awaitEviction(TaxFormCache taxFormCache, Integer id) throws InterruptedException {
+        for (int i = 0; i < 100 && taxFormCache.get(id).isPresent(); i++) {
+            Thread.sleep(50);
+        }
+
+        assertThat(taxFormCache.get(id)).isEmpty();
+    }
+
+    private TaxFormDto taxFormDto(Integer id) {
+        return TaxFormDto.builder()
+                .id(id)
+                .version(1)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package consulting.reason.tax_forms_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ConnectionLimitingDataSourceTest {
+    private final DataSource dataSource = mock(DataSource.class);
+    private final ConnectionLimitingDataSource limitingDataSource = new ConnectionLimitingDataSource(
+            dataSource,
+            2,
+            Duration.ofMillis(50)
+    );
+
+    @Test
+    void testLimitsOpenConnections() throws SQLException {
+        given(dataSource.getConnection()).willAnswer(invocation -> mock(Connection.class));
+
+        Connection first = limitingDataSource.getConnection();
+        limitingDataSource.getConnection();
+
+        assertThat(limitingDataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(limitingDataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        assertThat(limitingDataSource.getAvailablePermits()).isEqualTo(1);
+        assertThat(limitingDataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void testCloseReleasesPermitOnce() throws SQLException {
+        Connection connection = mock(Connection.class);
+        given(dataSource.getConnection()).willReturn(connection);
+
+        Connection limited = limitingDataSource.getConnection();
+        limited.close();
+        limited.close();
+
+        assertThat(limitingDataSource.getAvailablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void testFailedAcquireReleasesPermit() throws SQLException {
+        given(dataSource.getConnection()).willThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        assertThatThrownBy(limitingDataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessage("pool exhausted");
+        assertThat(limitingDataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void testSharesWaitBudgetWithHikari() throws SQLException {
+        try (HikariDataSource hikariDataSource = new HikariDataSource()) {
+            hikariDataSource.setJdbcUrl("jdbc:h2:mem:limiter");
+            hikariDataSource.setMaximumPoolSize(1);
+            hikariDataSource.setConnectionTimeout(Duration.ofSeconds(5).toMillis());
+            // More permits than connections, so the second caller goes on to wait inside Hikari
+            ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                    hikariDataSource,
+                    2,
+                    Duration.ofMillis(300)
+            );
+
+            try (Connection ignored = limited.getConnection()) {
+                long startedAt = System.nanoTime();
+
+                assertThatThrownBy(limited::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+                assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+            }
+            assertThat(limited.getAvailablePermits()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testDelegatesToConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.getAutoCommit()).willReturn(true);
+
+        Connection limited = limitingDataSource.getConnection();
+
+        assertThat(limited.getAutoCommit()).isTrue();
+        assertThat(limited.unwrap(Connection.class)).isSameAs(limited);
+    }
+}
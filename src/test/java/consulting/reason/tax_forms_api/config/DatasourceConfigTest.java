@@ -0,0 +1,64 @@
+package consulting.reason.tax_forms_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+public class DatasourceConfigTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testApplyPool() {
+        TaxFormsApiProperties.Pool pool = new TaxFormsApiProperties.Pool();
+        pool.setMaximumPoolSize(20);
+        pool.setMinimumIdle(5);
+        pool.setConnectionTimeout(Duration.ofSeconds(2));
+        pool.setLeakDetectionThreshold(Duration.ofSeconds(10));
+        pool.setPrepareThreshold(0);
+
+        try (HikariDataSource hikariDataSource = new HikariDataSource()) {
+            DatasourceConfig.applyPool(hikariDataSource, pool);
+
+            assertThat(hikariDataSource.getMaximumPoolSize()).isEqualTo(20);
+            assertThat(hikariDataSource.getMinimumIdle()).isEqualTo(5);
+            assertThat(hikariDataSource.getConnectionTimeout()).isEqualTo(2000);
+            assertThat(hikariDataSource.getLeakDetectionThreshold()).isEqualTo(10000);
+            assertThat(hikariDataSource.getDataSourceProperties())
+                    .containsEntry("prepareThreshold", 0)
+                    .containsEntry("preparedStatementCacheQueries", 256)
+                    .containsEntry("reWriteBatchedInserts", true);
+        }
+    }
+
+    @Test
+    void testApplyPoolDefaultsMinimumIdleToPoolSize() {
+        TaxFormsApiProperties.Pool pool = new TaxFormsApiProperties.Pool();
+
+        try (HikariDataSource hikariDataSource = new HikariDataSource()) {
+            DatasourceConfig.applyPool(hikariDataSource, pool);
+
+            assertThat(hikariDataSource.getMinimumIdle()).isEqualTo(pool.getMaximumPoolSize());
+        }
+    }
+
+    @Test
+    void testPoolValidation() {
+        TaxFormsApiProperties.Pool pool = new TaxFormsApiProperties.Pool();
+        assertThat(validator.validate(pool)).isEmpty();
+
+        pool.setMaximumPoolSize(0);
+        pool.setMinimumIdle(5);
+        pool.setConnectionTimeout(Duration.ofMillis(100));
+        pool.setLeakDetectionThreshold(Duration.ofSeconds(1));
+        pool.setPrepareThreshold(-1);
+
+        assertThat(validator.validate(pool)).hasSize(5);
+    }
+}
@@ -1,28 +1,56 @@
 package consulting.reason.tax_forms_api.controller;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import consulting.reason.tax_forms_api.AbstractControllerTest;
 import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
 import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.TaxFormPageDto;
+import consulting.reason.tax_forms_api.dto.TaxFormStatusSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionResultDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearStateDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearSummaryDto;
 import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.dto.request.TaxFormTransitionRequest;
+import consulting.reason.tax_forms_api.dto.request.TaxFormTransitionsRequest;
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
 import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.exception.TaxFormVersionException;
 import consulting.reason.tax_forms_api.service.TaxFormService;
+import consulting.reason.tax_forms_api.sse.TaxFormTransitionBroadcaster;
+import consulting.reason.tax_forms_api.util.TaxFormETagUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = TaxFormController.class)
@@ -31,6 +59,8 @@ public class TaxFormControllerTest extends AbstractControllerTest {
     protected MockMvc mockMvc;
     @MockBean
     private TaxFormService taxFormService;
+    @MockBean
+    private TaxFormTransitionBroadcaster taxFormTransitionBroadcaster;
     private final TaxFormDetailsDto taxFormDetailsDto = TaxFormDetailsDto.builder()
             .ratio(0.5)
             .assessedValue(100)
@@ -50,6 +80,7 @@ public class TaxFormControllerTest extends AbstractControllerTest {
             .formYear(2024)
             .createdAt(ZonedDateTime.now())
             .updatedAt(ZonedDateTime.now())
+            .version(3)
             .build();
 
     @Test
@@ -60,7 +91,184 @@ public class TaxFormControllerTest extends AbstractControllerTest {
                         .param("year", "2024")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        TaxFormETagUtils.toYearETag(2024, 1, 3L, taxFormDto.getUpdatedAt())))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(taxFormDto))));
+    }
+
+    @Test
+    void testFindAllByYearNotModified() throws Exception {
+        given(taxFormService.findStateByYear(2024)).willReturn(TaxFormYearStateDto.builder()
+                .count(1L)
+                .versionSum(3L)
+                .lastUpdatedAt(taxFormDto.getUpdatedAt())
+                .build());
+
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .header(HttpHeaders.IF_NONE_MATCH, TaxFormETagUtils.toYearETag(2024, 1, 3L, taxFormDto.getUpdatedAt()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taxFormService, never()).findAllByYear(any());
+    }
+
+    @Test
+    void testFindAllByYearModified() throws Exception {
+        given(taxFormService.findStateByYear(2024)).willReturn(TaxFormYearStateDto.builder()
+                .count(1L)
+                .versionSum(3L)
+                .lastUpdatedAt(taxFormDto.getUpdatedAt())
+                .build());
+        given(taxFormService.findAllByYear(2024)).willReturn(List.of(taxFormDto));
+
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .header(HttpHeaders.IF_NONE_MATCH, TaxFormETagUtils.toYearETag(2024, 0, null, null))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(taxFormDto))));
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .header(HttpHeaders.IF_NONE_MATCH, TaxFormETagUtils.toYearETag(2024, 1, 2L, taxFormDto.getUpdatedAt()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testFindAllByYearIgnoresIfModifiedSince() throws Exception {
+        given(taxFormService.findAllByYear(2024)).willReturn(List.of(taxFormDto));
+
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, taxFormDto.getUpdatedAt().plusHours(1).toInstant().toEpochMilli())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(taxFormDto))));
+
+        verify(taxFormService, never()).findStateByYear(any());
+    }
+
+    @Test
+    void testFindPageByYear() throws Exception {
+        TaxFormPageDto taxFormPageDto = TaxFormPageDto.builder()
+                .items(List.of(taxFormDto))
+                .nextCursor("MQ")
+                .build();
+        given(taxFormService.findPageByYear(2024, null, 1)).willReturn(taxFormPageDto);
+
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(taxFormPageDto)));
+    }
+
+    @Test
+    void testFindChanges() throws Exception {
+        TaxFormPageDto taxFormPageDto = TaxFormPageDto.builder()
+                .items(List.of(taxFormDto))
+                .nextCursor("Mg")
+                .build();
+        given(taxFormService.findChanges("MQ", 10)).willReturn(taxFormPageDto);
+
+        mockMvc.perform(get(Endpoints.FORMS + "/changes")
+                        .param("since", "MQ")
+                        .param("limit", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(taxFormPageDto)));
+    }
+
+    @Test
+    void testFindSummariesByYear() throws Exception {
+        TaxFormSummaryDto taxFormSummaryDto = TaxFormSummaryDto.builder()
+                .id(1)
+                .formYear(2024)
+                .formName("Testing form RCC")
+                .status(TaxFormStatus.IN_PROGRESS)
+                .version(3)
+                .build();
+        given(taxFormService.findSummariesByYear(2024)).willReturn(List.of(taxFormSummaryDto));
+
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .param("view", "summary")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(taxFormSummaryDto)), true));
+    }
+
+    @Test
+    void testFindAllByYearRejectsUnknownView() throws Exception {
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .param("view", "full")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(taxFormService, never()).findAllByYear(any());
+        verify(taxFormService, never()).findSummariesByYear(any());
+    }
+
+    @Test
+    void testFindSummariesByYearRejectsLimit() throws Exception {
+        mockMvc.perform(get(Endpoints.FORMS)
+                        .param("year", "2024")
+                        .param("view", "summary")
+                        .param("limit", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(taxFormService, never()).findSummariesByYear(any());
+        verify(taxFormService, never()).findPageByYear(any(), any(), any());
+    }
+
+    @Test
+    void testSummarizeByYear() throws Exception {
+        TaxFormYearSummaryDto taxFormYearSummaryDto = TaxFormYearSummaryDto.builder()
+                .formYear(2024)
+                .count(2)
+                .assessedValue(200)
+                .appraisedValue(2000)
+                .statuses(List.of(TaxFormStatusSummaryDto.builder()
+                        .status(TaxFormStatus.SUBMITTED)
+                        .count(2)
+                        .assessedValue(200)
+                        .appraisedValue(2000)
+                        .build()))
+                .build();
+        given(taxFormService.summarizeByYear(2024)).willReturn(taxFormYearSummaryDto);
+
+        mockMvc.perform(get(Endpoints.FORMS + "/summary")
+                        .param("year", "2024")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(taxFormYearSummaryDto)));
+    }
+
+    @Test
+    void testExportByYear() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<TaxFormDto> consumer = invocation.getArgument(1);
+            consumer.accept(taxFormDto);
+            consumer.accept(taxFormDto);
+            return null;
+        }).given(taxFormService).exportByYear(eq(2024), any());
+
+        MvcResult result = mockMvc.perform(get(Endpoints.FORMS + "/export")
+                        .param("year", "2024"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = objectMapper.writeValueAsString(taxFormDto);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + "\n" + line + "\n"));
     }
 
     @Test
@@ -70,9 +278,53 @@ public class TaxFormControllerTest extends AbstractControllerTest {
         mockMvc.perform(get(Endpoints.FORMS + "/" + taxFormDto.getId())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(taxFormDto)));
     }
 
+    @Test
+    void testFindByIdNotModified() throws Exception {
+        given(taxFormService.findSummaryById(taxFormDto.getId())).willReturn(Optional.of(TaxFormSummaryDto.builder()
+                .id(taxFormDto.getId())
+                .updatedAt(taxFormDto.getUpdatedAt())
+                .version(3)
+                .build()));
+
+        mockMvc.perform(get(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(taxFormService, never()).findById(any());
+    }
+
+    @Test
+    void testFindByIdIgnoresIfModifiedSince() throws Exception {
+        given(taxFormService.findById(taxFormDto.getId())).willReturn(Optional.of(taxFormDto));
+
+        mockMvc.perform(get(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, taxFormDto.getUpdatedAt().plusHours(1).toInstant().toEpochMilli())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().json(objectMapper.writeValueAsString(taxFormDto)));
+
+        verify(taxFormService, never()).findSummaryById(any());
+    }
+
+    @Test
+    void testFindByIdConditionalHandlesNotFound() throws Exception {
+        mockMvc.perform(get(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        verify(taxFormService, never()).findById(any());
+    }
+
     @Test
     void testFindByIdHandlesNotFound() throws Exception {
         mockMvc.perform(get(Endpoints.FORMS + "/" + taxFormDto.getId())
@@ -82,7 +334,7 @@ public class TaxFormControllerTest extends AbstractControllerTest {
 
     @Test
     void testSave() throws Exception {
-        given(taxFormService.save(taxFormDto.getId(), taxFormDetailsRequest)).willReturn(Optional.of(taxFormDto));
+        given(taxFormService.save(taxFormDto.getId(), null, taxFormDetailsRequest)).willReturn(Optional.of(taxFormDto));
 
         mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
                         .content(objectMapper.writeValueAsString(taxFormDetailsRequest))
@@ -91,6 +343,35 @@ public class TaxFormControllerTest extends AbstractControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(taxFormDto)));
     }
 
+    @Test
+    void testSaveWithIfMatch() throws Exception {
+        given(taxFormService.save(taxFormDto.getId(), 3, taxFormDetailsRequest)).willReturn(Optional.of(taxFormDto));
+
+        mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .content(objectMapper.writeValueAsString(taxFormDetailsRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void testSaveHandlesVersionMismatch() throws Exception {
+        given(taxFormService.save(taxFormDto.getId(), 2, taxFormDetailsRequest))
+                .willThrow(new TaxFormVersionException(taxFormDto.getId()));
+
+        mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .content(objectMapper.writeValueAsString(taxFormDetailsRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .content(objectMapper.writeValueAsString(taxFormDetailsRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void testSaveHandlesNotFound() throws Exception {
         mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
@@ -99,6 +380,76 @@ public class TaxFormControllerTest extends AbstractControllerTest {
                 .andExpect(status().isNotFound());
     }
     
+    @Test
+    void testMergeDetails() throws Exception {
+        TaxFormSummaryDto taxFormSummaryDto = TaxFormSummaryDto.builder()
+                .id(taxFormDto.getId())
+                .formYear(2024)
+                .status(TaxFormStatus.IN_PROGRESS)
+                .version(4)
+                .build();
+        ObjectNode detailsPatch = objectMapper.createObjectNode()
+                .put("comments", "patched");
+        detailsPatch.putNull("appraisedValue");
+        given(taxFormService.mergeDetails(taxFormDto.getId(), 3, detailsPatch, false)).willReturn(Optional.of(taxFormSummaryDto));
+
+        mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .content(detailsPatch.toString())
+                        .contentType(TaxFormController.APPLICATION_MERGE_PATCH_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(taxFormSummaryDto)));
+    }
+
+    @Test
+    void testMergeDetailsStoresValidatedValues() throws Exception {
+        TaxFormSummaryDto taxFormSummaryDto = TaxFormSummaryDto.builder()
+                .id(taxFormDto.getId())
+                .version(4)
+                .build();
+        given(taxFormService.mergeDetails(any(), any(), any(), anyBoolean())).willReturn(Optional.of(taxFormSummaryDto));
+
+        mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .content("{\"assessedValue\":\"12\",\"ratio\":0.5}")
+                        .contentType(TaxFormController.APPLICATION_MERGE_PATCH_JSON_VALUE))
+                .andExpect(status().isOk());
+
+        verify(taxFormService).mergeDetails(
+                taxFormDto.getId(),
+                null,
+                objectMapper.createObjectNode()
+                        .put("assessedValue", 12)
+                        .put("ratio", 0.5),
+                true
+        );
+    }
+
+    @Test
+    void testMergeDetailsHandlesNotFound() throws Exception {
+        mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                        .content("{\"comments\":\"patched\"}")
+                        .contentType(TaxFormController.APPLICATION_MERGE_PATCH_JSON_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testMergeDetailsHandlesInvalidPatch() throws Exception {
+        for (String detailsPatch : List.of(
+                "{\"unknown\":1}",
+                "{\"assessedValue\":null}",
+                "{\"ratio\":2}",
+                "{\"appraisedValue\":\"abc\"}"
+        )) {
+            mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
+                            .content(detailsPatch)
+                            .contentType(TaxFormController.APPLICATION_MERGE_PATCH_JSON_VALUE))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(taxFormService, never()).mergeDetails(any(), isNull(), any(), anyBoolean());
+    }
+
     @Test
     void testAssessedValueIsInvalid() throws Exception {
         mockMvc.perform(patch(Endpoints.FORMS + "/" + taxFormDto.getId())
@@ -133,7 +484,7 @@ public class TaxFormControllerTest extends AbstractControllerTest {
     
     @Test
     void testSubmit() throws Exception {
-    	given(taxFormService.submitForm(taxFormDto.getId())).willAnswer(invocation -> {
+    	given(taxFormService.submitForm(taxFormDto.getId(), null)).willAnswer(invocation -> {
             taxFormDto.setStatus(TaxFormStatus.SUBMITTED);
             return Optional.of(taxFormDto);
         });
@@ -152,7 +503,7 @@ public class TaxFormControllerTest extends AbstractControllerTest {
     
     @Test
     void testReturnForm() throws Exception {
-    	given(taxFormService.returnForm(taxFormDto.getId())).willAnswer(invocation -> {
+    	given(taxFormService.returnForm(taxFormDto.getId(), null)).willAnswer(invocation -> {
             taxFormDto.setStatus(TaxFormStatus.RETURNED);
             return Optional.of(taxFormDto);
         });
@@ -171,7 +522,7 @@ public class TaxFormControllerTest extends AbstractControllerTest {
     
     @Test
     void testAcceptForm() throws Exception {
-    	given(taxFormService.acceptForm(taxFormDto.getId())).willAnswer(invocation -> {
+    	given(taxFormService.acceptForm(taxFormDto.getId(), null)).willAnswer(invocation -> {
             taxFormDto.setStatus(TaxFormStatus.ACCEPTED);
             return Optional.of(taxFormDto);
         });
@@ -187,4 +538,58 @@ public class TaxFormControllerTest extends AbstractControllerTest {
         mockMvc.perform(get(Endpoints.FORMS + "/accepted/" + taxFormDto.getId()))
         		.andExpect(status().isNotFound());
     }
+
+    @Test
+    void testStreamTransitions() throws Exception {
+        given(taxFormTransitionBroadcaster.subscribe(2024, Set.of(TaxFormStatus.SUBMITTED))).willReturn(new SseEmitter());
+
+        mockMvc.perform(get(Endpoints.FORMS + "/transitions")
+                        .param("year", "2024")
+                        .param("status", "SUBMITTED")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(taxFormTransitionBroadcaster).subscribe(2024, Set.of(TaxFormStatus.SUBMITTED));
+    }
+
+    @Test
+    void testTransitionAll() throws Exception {
+        List<TaxFormTransitionRequest> transitions = List.of(
+                new TaxFormTransitionRequest(1, TaxFormAction.ACCEPT),
+                new TaxFormTransitionRequest(2, TaxFormAction.RETURN)
+        );
+        List<TaxFormTransitionResultDto> results = List.of(
+                TaxFormTransitionResultDto.builder()
+                        .id(1)
+                        .action(TaxFormAction.ACCEPT)
+                        .success(true)
+                        .status(TaxFormStatus.ACCEPTED)
+                        .build(),
+                TaxFormTransitionResultDto.builder()
+                        .id(2)
+                        .action(TaxFormAction.RETURN)
+                        .status(TaxFormStatus.IN_PROGRESS)
+                        .message("Cannot update form id 2 to status RETURNED from status IN_PROGRESS")
+                        .build()
+        );
+        given(taxFormService.transitionAll(transitions)).willReturn(results);
+
+        mockMvc.perform(post(Endpoints.FORMS + "/transitions")
+                        .content(objectMapper.writeValueAsString(new TaxFormTransitionsRequest(transitions)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
+
+    @Test
+    void testTransitionAllHandlesInvalidRequest() throws Exception {
+        mockMvc.perform(post(Endpoints.FORMS + "/transitions")
+                        .content("{\"transitions\": [{\"id\": 1}]}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(Endpoints.FORMS + "/transitions")
+                        .content("{\"transitions\": []}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
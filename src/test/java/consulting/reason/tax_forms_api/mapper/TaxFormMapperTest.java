@@ -0,0 +1,70 @@
+package consulting.reason.tax_forms_api.mapper;
+
+import consulting.reason.tax_forms_api.config.ModelMapperConfig;
+import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.entity.TaxFormHistory;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaxFormMapperTest {
+    private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+    private final TaxFormMapper taxFormMapper = new TaxFormMapper();
+    private TaxForm taxForm;
+
+    @BeforeEach
+    void before() {
+        taxForm = TaxForm.builder()
+                .id(1)
+                .formName("Test Tax Form")
+                .formYear(2024)
+                .status(TaxFormStatus.SUBMITTED)
+                .details(TaxFormDetailsDto.builder()
+                        .ratio(0.5)
+                        .assessedValue(100)
+                        .build())
+                .createdAt(ZonedDateTime.now())
+                .updatedAt(ZonedDateTime.now())
+                .build();
+        taxForm.setHistory(List.of(TaxFormHistory.builder()
+                .id(1)
+                .taxForm(taxForm)
+                .createdAt(ZonedDateTime.now())
+                .type(TaxFormHistoryType.SUBMITTED)
+                .build()));
+    }
+
+    @Test
+    void testToDtoMatchesModelMapper() {
+        assertThat(taxFormMapper.toDto(taxForm)).isEqualTo(modelMapper.map(taxForm, TaxFormDto.class));
+    }
+
+    @Test
+    void testToDtoHandlesMissingHistory() {
+        taxForm.setHistory(null);
+        assertThat(taxFormMapper.toDto(taxForm).getHistory()).isEmpty();
+    }
+
+    @Test
+    void testToDetailsDtoMatchesModelMapper() {
+        TaxFormDetailsRequest taxFormDetailsRequest = TaxFormDetailsRequest.builder()
+                .ratio(0.5)
+                .assessedValue(100)
+                .appraisedValue(200L)
+                .comments("Testing")
+                .build();
+
+        assertThat(taxFormMapper.toDetailsDto(taxFormDetailsRequest))
+                .isEqualTo(modelMapper.map(taxFormDetailsRequest, TaxFormDetailsDto.class));
+    }
+}
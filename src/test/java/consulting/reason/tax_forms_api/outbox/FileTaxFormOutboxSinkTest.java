@@ -0,0 +1,41 @@
+package consulting.reason.tax_forms_api.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import consulting.reason.tax_forms_api.dto.TaxFormOutboxMessageDto;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+
+public class FileTaxFormOutboxSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testAppendsOneLinePerMessage() throws Exception {
+        Path path = directory.resolve("outbox.ndjson");
+        FileTaxFormOutboxSink sink = new FileTaxFormOutboxSink(path, objectMapper);
+
+        sink.publish(List.of(message(1), message(2)));
+        sink.publish(List.of(message(3)));
+
+        assertThat(Files.readAllLines(path))
+                .extracting(line -> objectMapper.readValue(line, TaxFormOutboxMessageDto.class).getId())
+                .containsExactly(1, 2, 3);
+    }
+
+    private TaxFormOutboxMessageDto message(Integer id) {
+        return TaxFormOutboxMessageDto.builder()
+                .id(id)
+                .taxFormId(id)
+                .type(TaxFormHistoryType.SUBMITTED)
+                .build();
+    }
+}
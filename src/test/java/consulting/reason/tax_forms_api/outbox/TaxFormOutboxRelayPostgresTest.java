@@ -0,0 +1,134 @@
+package consulting.reason.tax_forms_api.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import consulting.reason.tax_forms_api.AbstractPostgresTest;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.dto.TaxFormHistoryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormOutboxMessageDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionDto;
+import consulting.reason.tax_forms_api.entity.TaxFormOutbox;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.mapper.TaxFormMapper;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.repository.TaxFormOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@EnabledIfEnvironmentVariable(named = "TAX_FORMS_TEST_POSTGRES_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaxFormOutboxRelayPostgresTest extends AbstractPostgresTest {
+    private static final int MESSAGES = 500;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Autowired
+    private TaxFormOutboxRepository taxFormOutboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void after() {
+        taxFormOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentRelaysPublishEachMessageOnce() throws Exception {
+        taxFormOutboxRepository.saveAll(IntStream.rangeClosed(1, MESSAGES)
+                .mapToObj(this::outbox)
+                .toList());
+        InMemoryTaxFormOutboxSink first = new InMemoryTaxFormOutboxSink();
+        InMemoryTaxFormOutboxSink second = new InMemoryTaxFormOutboxSink();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            List<Future<?>> relays = new ArrayList<>();
+            for (TaxFormOutboxRelay relay : List.of(relay(first), relay(second))) {
+                relays.add(executor.submit(() -> {
+                    int relayed;
+                    do {
+                        relayed = relay.relayBatch();
+                    } while (relayed > 0);
+                }));
+            }
+            for (Future<?> relay : relays) {
+                relay.get();
+            }
+        }
+
+        assertThat(Stream.concat(first.getMessages().stream(), second.getMessages().stream()))
+                .extracting(TaxFormOutboxMessageDto::getId)
+                .hasSize(MESSAGES)
+                .doesNotHaveDuplicates();
+        assertThat(taxFormOutboxRepository.count()).isZero();
+        assertThat(meterRegistry.get(TaxFormMetrics.OUTBOX_RELAYED).counter().count()).isEqualTo(MESSAGES);
+    }
+
+    @Test
+    void testFailedPublishKeepsBatch() {
+        taxFormOutboxRepository.saveAll(List.of(outbox(1), outbox(2)));
+        TaxFormOutboxRelay relay = new TaxFormOutboxRelay(
+                taxFormOutboxRepository,
+                messages -> {
+                    throw new IOException("sink unavailable");
+                },
+                new TaxFormMapper(),
+                new TaxFormMetrics(meterRegistry),
+                properties(),
+                transactionManager
+        );
+
+        assertThatThrownBy(relay::relayBatch).hasRootCauseInstanceOf(IOException.class);
+
+        assertThat(taxFormOutboxRepository.count()).isEqualTo(2);
+    }
+
+    private TaxFormOutboxRelay relay(TaxFormOutboxSink sink) {
+        return new TaxFormOutboxRelay(
+                taxFormOutboxRepository,
+                sink,
+                new TaxFormMapper(),
+                new TaxFormMetrics(meterRegistry),
+                properties(),
+                transactionManager
+        );
+    }
+
+    private TaxFormsApiProperties properties() {
+        TaxFormsApiProperties taxFormsApiProperties = new TaxFormsApiProperties();
+        taxFormsApiProperties.getOutbox().setEnabled(true);
+        taxFormsApiProperties.getOutbox().setBatchSize(25);
+
+        return taxFormsApiProperties;
+    }
+
+    private TaxFormOutbox outbox(int taxFormId) {
+        return TaxFormOutbox.builder()
+                .taxFormId(taxFormId)
+                .type(TaxFormHistoryType.SUBMITTED)
+                .payload(TaxFormTransitionDto.builder()
+                        .formYear(2099)
+                        .status(TaxFormStatus.SUBMITTED)
+                        .history(TaxFormHistoryDto.builder()
+                                .taxFormId(taxFormId)
+                                .type(TaxFormHistoryType.SUBMITTED)
+                                .build())
+                        .build())
+                .build();
+    }
+}
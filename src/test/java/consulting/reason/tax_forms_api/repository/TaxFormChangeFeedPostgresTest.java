@@ -0,0 +1,74 @@
+package consulting.reason.tax_forms_api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import consulting.reason.tax_forms_api.AbstractPostgresTest;
+
+@EnabledIfEnvironmentVariable(named = "TAX_FORMS_TEST_POSTGRES_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaxFormChangeFeedPostgresTest extends AbstractPostgresTest {
+    private static final int FORM_YEAR = 2099;
+    @Autowired
+    private TaxFormRepository taxFormRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void after() {
+        jdbcTemplate.update("DELETE FROM tax_forms WHERE form_year = ?", FORM_YEAR);
+    }
+
+    @Test
+    void testFindChangesHoldsBackRowsBehindRunningTransactions() throws Exception {
+        Long afterXid = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(CAST(CAST(write_xid AS TEXT) AS BIGINT)), 0) FROM tax_forms", Long.class);
+        Integer first = insert("Change Form 1");
+        Integer second = insert("Change Form 2");
+
+        List<TaxFormChange> firstPage;
+        Integer third;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE tax_forms SET form_name = 'Slow Commit' WHERE id = " + first);
+            }
+            third = insert("Change Form 3");
+
+            firstPage = taxFormRepository.findChangesAfter(afterXid, Integer.MAX_VALUE, 10);
+            assertThat(firstPage)
+                    .extracting(TaxFormChange::getId)
+                    .containsExactly(first, second);
+
+            connection.commit();
+        }
+
+        TaxFormChange lastChange = firstPage.get(firstPage.size() - 1);
+        assertThat(taxFormRepository.findChangesAfter(lastChange.getWriteXid(), lastChange.getId(), 10))
+                .extracting(TaxFormChange::getId)
+                .containsExactly(first, third);
+    }
+
+    private Integer insert(String formName) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tax_forms (form_year, form_name) VALUES (?, ?) RETURNING id",
+                Integer.class,
+                FORM_YEAR,
+                formName);
+    }
+}
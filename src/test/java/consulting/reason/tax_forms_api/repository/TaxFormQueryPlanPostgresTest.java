@@ -0,0 +1,84 @@
+package consulting.reason.tax_forms_api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import consulting.reason.tax_forms_api.AbstractPostgresTest;
+
+@EnabledIfEnvironmentVariable(named = "TAX_FORMS_TEST_POSTGRES_URL", matches = ".+")
+public class TaxFormQueryPlanPostgresTest extends AbstractPostgresTest {
+    private static final int FORM_YEARS = 50;
+    private static final int FORMS = 50_000;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void before() {
+        jdbcTemplate.update("""
+                INSERT INTO tax_forms (form_year, form_name, status)
+                SELECT 3000 + (g % ?), 'Plan Form ' || g,
+                       CASE WHEN g % 4 = 0 THEN 'ACCEPTED' ELSE 'IN_PROGRESS' END
+                FROM generate_series(1, ?) g
+                """, FORM_YEARS, FORMS);
+        jdbcTemplate.update("""
+                INSERT INTO tax_form_history (tax_form_id, type)
+                SELECT t.id, h.type
+                FROM tax_forms t CROSS JOIN (VALUES ('SUBMITTED'), ('RETURNED')) AS h(type)
+                """);
+        jdbcTemplate.execute("ANALYZE tax_forms");
+        jdbcTemplate.execute("ANALYZE tax_form_history");
+    }
+
+    @Test
+    void testFindByYearUsesIndex() {
+        assertThat(explain("SELECT * FROM tax_forms WHERE form_year = 3010"))
+                .doesNotContain("Seq Scan on tax_forms");
+    }
+
+    @Test
+    void testKeysetPageUsesIndex() {
+        assertThat(explain("""
+                SELECT id FROM tax_forms
+                WHERE form_year = 3010 AND id > 100
+                ORDER BY id
+                LIMIT 100
+                """))
+                .contains("tax_forms_form_year_id_idx")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void testHistoryJoinUsesIndex() {
+        Integer id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tax_forms WHERE form_year = 3010", Integer.class);
+
+        assertThat(explain("""
+                SELECT * FROM tax_forms t
+                LEFT JOIN tax_form_history h ON h.tax_form_id = t.id
+                WHERE t.id = %d
+                """.formatted(id)))
+                .contains("tax_form_history_tax_form_id_created_at_idx")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void testChangesPageUsesIndex() {
+        assertThat(explain("""
+                SELECT id FROM tax_forms
+                WHERE (write_xid, id) > (CAST('1' AS xid8), 100)
+                  AND write_xid < pg_snapshot_xmin(pg_current_snapshot())
+                ORDER BY write_xid, id
+                LIMIT 100
+                """))
+                .contains("tax_forms_write_xid_id_idx")
+                .doesNotContain("Seq Scan");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,134 @@
+package consulting.reason.tax_forms_api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import consulting.reason.tax_forms_api.AbstractPostgresTest;
+import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+
+@EnabledIfEnvironmentVariable(named = "TAX_FORMS_TEST_POSTGRES_URL", matches = ".+")
+public class TaxFormRepositoryPostgresTest extends AbstractPostgresTest {
+    private static final int FORM_YEAR = 2099;
+    @Autowired
+    private TaxFormRepository taxFormRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Test
+    void testCountByStatusForFormYear() {
+        taxFormRepository.saveAllAndFlush(List.of(
+                taxForm(TaxFormStatus.SUBMITTED, 100, 1000L),
+                taxForm(TaxFormStatus.SUBMITTED, 50, null),
+                taxForm(TaxFormStatus.IN_PROGRESS, null, null)
+        ));
+
+        Map<String, TaxFormStatusCount> counts = taxFormRepository.countByStatusForFormYear(FORM_YEAR)
+                .stream()
+                .collect(Collectors.toMap(TaxFormStatusCount::getStatus, Function.identity()));
+
+        assertThat(counts).containsOnlyKeys("SUBMITTED", "IN_PROGRESS");
+        assertThat(counts.get("SUBMITTED").getFormCount()).isEqualTo(2);
+        assertThat(counts.get("SUBMITTED").getAssessedValue()).isEqualTo(150);
+        assertThat(counts.get("SUBMITTED").getAppraisedValue()).isEqualTo(1000);
+        assertThat(counts.get("IN_PROGRESS").getFormCount()).isEqualTo(1);
+        assertThat(counts.get("IN_PROGRESS").getAssessedValue()).isNull();
+    }
+
+    @Test
+    void testMergeDetails() {
+        TaxForm taxForm = taxFormRepository.saveAndFlush(taxForm(TaxFormStatus.NOT_STARTED, 100, 1000L));
+        List<String> allowedFrom = List.of(TaxFormStatus.NOT_STARTED.name(), TaxFormStatus.IN_PROGRESS.name());
+
+        Optional<String> previousStatus = taxFormRepository.mergeDetails(
+                taxForm.getId(),
+                "{\"assessedValue\":200,\"appraisedValue\":null,\"comments\":\"patched\"}",
+                false,
+                TaxFormStatus.IN_PROGRESS.name(),
+                allowedFrom,
+                taxForm.getVersion(),
+                ZonedDateTime.now()
+        );
+
+        assertThat(previousStatus).contains(TaxFormStatus.NOT_STARTED.name());
+        testEntityManager.clear();
+        TaxForm merged = taxFormRepository.findById(taxForm.getId()).orElseThrow();
+        assertThat(merged.getStatus()).isEqualTo(TaxFormStatus.IN_PROGRESS);
+        assertThat(merged.getVersion()).isEqualTo(taxForm.getVersion() + 1);
+        assertThat(merged.getDetails().getAssessedValue()).isEqualTo(200);
+        assertThat(merged.getDetails().getAppraisedValue()).isNull();
+        assertThat(merged.getDetails().getComments()).isEqualTo("patched");
+
+        assertThat(taxFormRepository.mergeDetails(
+                taxForm.getId(),
+                "{}",
+                false,
+                TaxFormStatus.IN_PROGRESS.name(),
+                allowedFrom,
+                taxForm.getVersion(),
+                ZonedDateTime.now()
+        )).isEmpty();
+        assertThat(taxFormRepository.mergeDetails(
+                taxForm.getId(),
+                "{}",
+                false,
+                TaxFormStatus.IN_PROGRESS.name(),
+                List.of(TaxFormStatus.SUBMITTED.name()),
+                null,
+                ZonedDateTime.now()
+        )).isEmpty();
+    }
+
+    @Test
+    void testMergeDetailsRequiresCompletePatchWithoutDetails() {
+        TaxForm taxForm = taxFormRepository.saveAndFlush(TaxForm.builder()
+                .formName("Summary Form")
+                .formYear(FORM_YEAR)
+                .status(TaxFormStatus.NOT_STARTED)
+                .build());
+        List<String> allowedFrom = List.of(TaxFormStatus.NOT_STARTED.name(), TaxFormStatus.IN_PROGRESS.name());
+
+        assertThat(taxFormRepository.mergeDetails(
+                taxForm.getId(),
+                "{\"comments\":\"patched\"}",
+                false,
+                TaxFormStatus.IN_PROGRESS.name(),
+                allowedFrom,
+                null,
+                ZonedDateTime.now()
+        )).isEmpty();
+        assertThat(taxFormRepository.mergeDetails(
+                taxForm.getId(),
+                "{\"assessedValue\":200,\"ratio\":0.5}",
+                true,
+                TaxFormStatus.IN_PROGRESS.name(),
+                allowedFrom,
+                null,
+                ZonedDateTime.now()
+        )).contains(TaxFormStatus.NOT_STARTED.name());
+    }
+
+    private TaxForm taxForm(TaxFormStatus status, Integer assessedValue, Long appraisedValue) {
+        return TaxForm.builder()
+                .formName("Summary Form")
+                .formYear(FORM_YEAR)
+                .status(status)
+                .details(TaxFormDetailsDto.builder()
+                        .assessedValue(assessedValue)
+                        .appraisedValue(appraisedValue)
+                        .build())
+                .build();
+    }
+}
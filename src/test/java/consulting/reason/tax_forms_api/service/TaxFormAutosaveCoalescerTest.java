@@ -0,0 +1,185 @@
+package consulting.reason.tax_forms_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.exception.TaxFormAutosaveTimeoutException;
+import consulting.reason.tax_forms_api.exception.TaxFormStatusException;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TaxFormAutosaveCoalescerTest {
+    private final TaxFormService taxFormService = mock(TaxFormService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final TaxFormDto taxFormDto = TaxFormDto.builder()
+            .id(1)
+            .version(1)
+            .build();
+    private TaxFormAutosaveCoalescer coalescer;
+
+    @AfterEach
+    void after() throws InterruptedException {
+        released.countDown();
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void testCoalescesSavesWithinWindow() throws Exception {
+        coalescer = coalescer(Duration.ofMillis(200), 10);
+        TaxFormDetailsRequest last = request("third");
+        given(taxFormService.save(1, null, last)).willReturn(Optional.of(taxFormDto));
+
+        CompletableFuture<Optional<TaxFormDto>> first = coalescer.save(1, request("first"));
+        CompletableFuture<Optional<TaxFormDto>> second = coalescer.save(1, request("second"));
+        CompletableFuture<Optional<TaxFormDto>> third = coalescer.save(1, last);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).contains(taxFormDto);
+        assertThat(second.get(5, TimeUnit.SECONDS)).contains(taxFormDto);
+        assertThat(third.get(5, TimeUnit.SECONDS)).contains(taxFormDto);
+        verify(taxFormService, times(1)).save(eq(1), isNull(), any());
+    }
+
+    @Test
+    void testFailedFlushCompletesAllWaitersExceptionally() {
+        coalescer = coalescer(Duration.ofMillis(50), 10);
+        given(taxFormService.save(eq(1), isNull(), any()))
+                .willThrow(new TaxFormStatusException(1, TaxFormStatus.SUBMITTED, TaxFormStatus.IN_PROGRESS));
+
+        CompletableFuture<Optional<TaxFormDto>> first = coalescer.save(1, request("first"));
+        CompletableFuture<Optional<TaxFormDto>> second = coalescer.save(1, request("second"));
+
+        assertThatThrownBy(() -> coalescer.await(first)).isInstanceOf(TaxFormStatusException.class);
+        assertThatThrownBy(() -> coalescer.await(second)).isInstanceOf(TaxFormStatusException.class);
+        assertThat(meterRegistry.get(TaxFormMetrics.AUTOSAVE_FAILURES)
+                .tag("exception", TaxFormStatusException.class.getSimpleName())
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSlowFlushDoesNotHoldBackOtherForms() throws Exception {
+        coalescer = coalescer(Duration.ofMillis(50), 10);
+        TaxFormDetailsRequest slow = request("slow");
+        TaxFormDetailsRequest fast = request("fast");
+        given(taxFormService.save(1, null, slow)).willAnswer(invocation -> {
+            released.await();
+            return Optional.of(taxFormDto);
+        });
+        given(taxFormService.save(2, null, fast)).willReturn(Optional.of(taxFormDto));
+
+        CompletableFuture<Optional<TaxFormDto>> blocked = coalescer.save(1, slow);
+        CompletableFuture<Optional<TaxFormDto>> saved = coalescer.save(2, fast);
+
+        assertThat(saved.get(5, TimeUnit.SECONDS)).contains(taxFormDto);
+        assertThat(blocked).isNotDone();
+    }
+
+    @Test
+    void testFlushesOfOneFormRunInOrder() throws Exception {
+        coalescer = coalescer(Duration.ofMillis(50), 10);
+        TaxFormDetailsRequest first = request("first");
+        TaxFormDetailsRequest second = request("second");
+        CountDownLatch flushing = new CountDownLatch(1);
+        given(taxFormService.save(1, null, first)).willAnswer(invocation -> {
+            flushing.countDown();
+            released.await();
+            return Optional.of(taxFormDto);
+        });
+        given(taxFormService.save(1, null, second)).willReturn(Optional.of(taxFormDto));
+
+        CompletableFuture<Optional<TaxFormDto>> older = coalescer.save(1, first);
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Optional<TaxFormDto>> newer = coalescer.save(1, second);
+
+        // The newer window closes while the older save is still running
+        Thread.sleep(200);
+        verify(taxFormService, never()).save(1, null, second);
+
+        released.countDown();
+        assertThat(older.get(5, TimeUnit.SECONDS)).contains(taxFormDto);
+        assertThat(newer.get(5, TimeUnit.SECONDS)).contains(taxFormDto);
+    }
+
+    @Test
+    void testAwaitTimesOut() {
+        coalescer = coalescer(Duration.ofMinutes(1), 10, Duration.ofMillis(50));
+
+        CompletableFuture<Optional<TaxFormDto>> pending = coalescer.save(1, request("pending"));
+
+        assertThatThrownBy(() -> coalescer.await(pending)).isInstanceOf(TaxFormAutosaveTimeoutException.class);
+    }
+
+    @Test
+    void testWritesThroughWhenPendingCapacityIsExhausted() {
+        coalescer = coalescer(Duration.ofMinutes(1), 1);
+        TaxFormDetailsRequest request = request("direct");
+        given(taxFormService.save(2, null, request)).willReturn(Optional.of(taxFormDto));
+
+        CompletableFuture<Optional<TaxFormDto>> pending = coalescer.save(1, request("pending"));
+        CompletableFuture<Optional<TaxFormDto>> direct = coalescer.save(2, request);
+
+        assertThat(pending).isNotDone();
+        assertThat(direct).isCompletedWithValue(Optional.of(taxFormDto));
+        verify(taxFormService, never()).save(eq(1), any(), any());
+    }
+
+    @Test
+    void testShutdownFlushesPendingSaves() throws InterruptedException {
+        coalescer = coalescer(Duration.ofMinutes(1), 10);
+        TaxFormDetailsRequest request = request("pending");
+        given(taxFormService.save(1, null, request)).willReturn(Optional.of(taxFormDto));
+
+        CompletableFuture<Optional<TaxFormDto>> pending = coalescer.save(1, request);
+        coalescer.shutdown();
+
+        assertThat(pending).isCompletedWithValue(Optional.of(taxFormDto));
+        verify(taxFormService, timeout(1000).times(1)).save(1, null, request);
+    }
+
+    private TaxFormAutosaveCoalescer coalescer(Duration window, int maxPending) {
+        return coalescer(window, maxPending, Duration.ofSeconds(5));
+    }
+
+    private TaxFormAutosaveCoalescer coalescer(Duration window, int maxPending, Duration ackTimeout) {
+        TaxFormsApiProperties taxFormsApiProperties = new TaxFormsApiProperties();
+        taxFormsApiProperties.getAutosave().setEnabled(true);
+        taxFormsApiProperties.getAutosave().setWindow(window);
+        taxFormsApiProperties.getAutosave().setMaxPending(maxPending);
+        taxFormsApiProperties.getAutosave().setAckTimeout(ackTimeout);
+
+        return new TaxFormAutosaveCoalescer(taxFormService, new TaxFormMetrics(meterRegistry), taxFormsApiProperties);
+    }
+
+    private TaxFormDetailsRequest request(String comments) {
+        return TaxFormDetailsRequest.builder()
+                .assessedValue(100)
+                .ratio(0.5)
+                .comments(comments)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package consulting.reason.tax_forms_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import consulting.reason.tax_forms_api.AbstractServiceTest;
+import consulting.reason.tax_forms_api.cache.TaxFormCache;
+import consulting.reason.tax_forms_api.cache.TaxFormCacheEvictionListener;
+import consulting.reason.tax_forms_api.config.CacheConfig;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.repository.TaxFormHistoryRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormRepository;
+
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        CacheConfig.class,
+        TaxFormCache.class,
+        TaxFormCacheEvictionListener.class,
+        TaxFormServiceImpl.class,
+        TaxFormsApiProperties.class,
+        TaxFormMetrics.class,
+        SimpleMeterRegistry.class
+})
+public class TaxFormServiceCacheTest extends AbstractServiceTest {
+    @Autowired
+    @SpyBean
+    private TaxFormRepository taxFormRepository;
+    @Autowired
+    private TaxFormHistoryRepository taxFormHistoryRepository;
+    @Autowired
+    private TaxFormService taxFormService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private TaxFormCache taxFormCache;
+    private TaxForm taxForm;
+
+    @BeforeEach
+    void before() {
+        cacheManager.getCache(CacheConfig.TAX_FORMS_CACHE).clear();
+        taxForm = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 1")
+                .formYear(2024)
+                .status(TaxFormStatus.IN_PROGRESS)
+                .build());
+    }
+
+    @AfterEach
+    void after() {
+        taxFormHistoryRepository.deleteAll();
+        taxFormRepository.deleteAll();
+    }
+
+    @Test
+    void testFindByIdIsCached() {
+        TaxFormDto first = taxFormService.findById(taxForm.getId()).orElseThrow();
+        TaxFormDto second = taxFormService.findById(taxForm.getId()).orElseThrow();
+
+        assertThat(second).isEqualTo(first);
+        verify(taxFormRepository, times(1)).findWithHistoryById(taxForm.getId());
+        verify(taxFormRepository, never()).findStateById(any());
+    }
+
+    @Test
+    void testFindByIdReturnsCopies() {
+        taxFormService.findById(taxForm.getId()).orElseThrow().setFormName("Mutated");
+
+        assertThat(taxFormService.findById(taxForm.getId()))
+                .get()
+                .extracting(TaxFormDto::getFormName)
+                .isEqualTo("Test Form 1");
+    }
+
+    @Test
+    void testFindByIdIgnoresStalePutAfterEviction() {
+        TaxFormDto stale = taxFormService.findById(taxForm.getId()).orElseThrow();
+        taxFormService.submitForm(taxForm.getId(), null);
+        taxFormCache.put(stale);
+
+        assertThat(taxFormService.findById(taxForm.getId()))
+                .get()
+                .extracting(TaxFormDto::getStatus)
+                .isEqualTo(TaxFormStatus.SUBMITTED);
+    }
+
+    @Test
+    void testFindByIdDoesNotCacheMissingForm() {
+        assertThat(taxFormService.findById(-1)).isEmpty();
+
+        assertThat(cacheManager.getCache(CacheConfig.TAX_FORMS_CACHE).get(-1)).isNull();
+    }
+
+    @Test
+    void testSubmitEvictsCachedForm() {
+        assertThat(taxFormService.findById(taxForm.getId()))
+                .get()
+                .extracting(TaxFormDto::getStatus)
+                .isEqualTo(TaxFormStatus.IN_PROGRESS);
+
+        taxFormService.submitForm(taxForm.getId(), null);
+
+        assertThat(taxFormService.findById(taxForm.getId()))
+                .get()
+                .extracting(TaxFormDto::getStatus)
+                .isEqualTo(TaxFormStatus.SUBMITTED);
+    }
+
+    @Test
+    void testSaveEvictsCachedForm() {
+        taxFormService.findById(taxForm.getId());
+
+        taxFormService.save(taxForm.getId(), null, TaxFormDetailsRequest.builder()
+                .comments("Cached")
+                .build());
+
+        assertThat(taxFormService.findById(taxForm.getId()))
+                .get()
+                .extracting(dto -> dto.getDetails().getComments())
+                .isEqualTo("Cached");
+    }
+}
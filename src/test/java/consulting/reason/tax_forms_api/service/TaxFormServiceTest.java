@@ -2,16 +2,31 @@ package consulting.reason.tax_forms_api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,24 +34,55 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import consulting.reason.tax_forms_api.AbstractServiceTest;
+import consulting.reason.tax_forms_api.cache.TaxFormCache;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
 import consulting.reason.tax_forms_api.dto.TaxFormDetailsDto;
 import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.dto.TaxFormPageDto;
+import consulting.reason.tax_forms_api.dto.TaxFormStatusSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormSummaryDto;
+import consulting.reason.tax_forms_api.dto.TaxFormTransitionResultDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearStateDto;
+import consulting.reason.tax_forms_api.dto.TaxFormYearSummaryDto;
 import consulting.reason.tax_forms_api.dto.request.TaxFormDetailsRequest;
+import consulting.reason.tax_forms_api.dto.request.TaxFormTransitionRequest;
 import consulting.reason.tax_forms_api.entity.TaxForm;
 import consulting.reason.tax_forms_api.entity.TaxFormHistory;
+import consulting.reason.tax_forms_api.entity.TaxFormOutbox;
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
 import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.event.TaxFormTransitionedEvent;
+import consulting.reason.tax_forms_api.exception.TaxFormPageRequestException;
+import consulting.reason.tax_forms_api.exception.TaxFormPatchException;
 import consulting.reason.tax_forms_api.exception.TaxFormStatusException;
+import consulting.reason.tax_forms_api.exception.TaxFormVersionException;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.repository.TaxFormChange;
 import consulting.reason.tax_forms_api.repository.TaxFormHistoryRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormOutboxRepository;
 import consulting.reason.tax_forms_api.repository.TaxFormRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormStatusCount;
+import consulting.reason.tax_forms_api.util.TaxFormCursorUtils;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 
 @ExtendWith(MockitoExtension.class)
+@RecordApplicationEvents
 public class TaxFormServiceTest extends AbstractServiceTest {
     @Autowired
     @SpyBean
@@ -44,7 +90,19 @@ public class TaxFormServiceTest extends AbstractServiceTest {
     @Autowired
     @SpyBean
     private TaxFormHistoryRepository taxFormHistoryRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+    @Autowired
+    private TaxFormOutboxRepository taxFormOutboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private TaxFormsApiProperties taxFormsApiProperties;
     private TaxFormService taxFormService;
+    private SimpleMeterRegistry meterRegistry;
     private TaxForm taxForm;
     private TaxFormDto taxFormDto;
     private Validator validator;
@@ -57,10 +115,19 @@ public class TaxFormServiceTest extends AbstractServiceTest {
 
     @BeforeEach
     void before() {
+        meterRegistry = new SimpleMeterRegistry();
+        taxFormsApiProperties = new TaxFormsApiProperties();
         taxFormService = new TaxFormServiceImpl(
                 taxFormRepository,
-                modelMapper,
-                taxFormHistoryRepository
+                taxFormMapper,
+                taxFormHistoryRepository,
+                taxFormOutboxRepository,
+                taxFormsApiProperties,
+                testEntityManager.getEntityManager(),
+                applicationEventPublisher,
+                new TaxFormMetrics(meterRegistry),
+                new TaxFormCache(new NoOpCacheManager()),
+                transactionManager
         );
 
         taxForm = taxFormRepository.save(TaxForm.builder()
@@ -79,12 +146,256 @@ public class TaxFormServiceTest extends AbstractServiceTest {
         assertThat(taxFormService.findAllByYear(2025)).isEmpty();
     }
 
+    @Test
+    void testFindAllByYearRecordsMetrics() {
+        taxFormService.findAllByYear(2024);
+
+        assertThat(meterRegistry.get(TaxFormMetrics.SERVICE_TIMER)
+                .tags("operation", "findAllByYear", "phase", TaxFormMetrics.PHASE_DB)
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TaxFormMetrics.SERVICE_TIMER)
+                .tags("operation", "findAllByYear", "phase", TaxFormMetrics.PHASE_MAPPING)
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TaxFormMetrics.LIST_SIZE)
+                .tag("operation", "findAllByYear")
+                .summary()
+                .totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void testTransitionsRecordMetrics() {
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+        taxFormService.submitForm(taxForm.getId(), null);
+        assertThrows(TaxFormStatusException.class, () -> taxFormService.submitForm(taxForm.getId(), null));
+
+        assertThat(meterRegistry.get(TaxFormMetrics.TRANSITIONS)
+                .tags("from", TaxFormStatus.IN_PROGRESS.name(), "to", TaxFormStatus.SUBMITTED.name())
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TaxFormMetrics.REJECTED_TRANSITIONS)
+                .tags("from", TaxFormStatus.SUBMITTED.name(), "to", TaxFormStatus.SUBMITTED.name(), "reason", "status")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSaveOnlyRecordsStatusChanges() {
+        taxFormService.save(taxForm.getId(), null, taxFormDetailsRequest);
+        taxFormService.save(taxForm.getId(), null, taxFormDetailsRequest);
+
+        assertThat(meterRegistry.find(TaxFormMetrics.TRANSITIONS).counters())
+                .singleElement()
+                .satisfies(counter -> {
+                    assertThat(counter.getId().getTag("from")).isEqualTo(TaxFormStatus.NOT_STARTED.name());
+                    assertThat(counter.getId().getTag("to")).isEqualTo(TaxFormStatus.IN_PROGRESS.name());
+                    assertThat(counter.count()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void testFindAllByYearStatementCountIsConstant() {
+        long singleFormStatements = countStatements(() -> taxFormService.findAllByYear(2024));
+
+        for (int i = 0; i < 10; i++) {
+            TaxForm form = taxFormRepository.save(TaxForm.builder()
+                    .formName("Test Form " + (i + 2))
+                    .formYear(2024)
+                    .status(TaxFormStatus.SUBMITTED)
+                    .build());
+            taxFormHistoryRepository.save(TaxFormHistory.builder()
+                    .taxForm(form)
+                    .type(TaxFormHistoryType.SUBMITTED)
+                    .build());
+        }
+
+        assertThat(countStatements(() -> assertThat(taxFormService.findAllByYear(2024))
+                .hasSize(11)
+                .allSatisfy(dto -> assertThat(dto.getHistory()).isNotNull())))
+                .isEqualTo(singleFormStatements);
+    }
+
+    @Test
+    void testFindSummariesByYear() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<TaxFormSummaryDto> summaries = taxFormService.findSummariesByYear(2024);
+
+        assertThat(summaries).containsExactly(TaxFormSummaryDto.builder()
+                .id(taxForm.getId())
+                .formYear(taxForm.getFormYear())
+                .formName(taxForm.getFormName())
+                .status(taxForm.getStatus())
+                .createdAt(summaries.get(0).getCreatedAt())
+                .updatedAt(summaries.get(0).getUpdatedAt())
+                .version(taxForm.getVersion())
+                .build());
+        assertThat(taxFormService.findSummariesByYear(2025)).isEmpty();
+    }
+
+    @Test
+    void testFindStateByYear() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        TaxFormSummaryDto summary = taxFormService.findSummariesByYear(2024).get(0);
+
+        assertThat(taxFormService.findStateByYear(2024)).isEqualTo(TaxFormYearStateDto.builder()
+                .count(1L)
+                .versionSum(summary.getVersion().longValue())
+                .lastUpdatedAt(summary.getUpdatedAt())
+                .build());
+        assertThat(taxFormService.findStateByYear(2025)).isEqualTo(TaxFormYearStateDto.builder()
+                .count(0L)
+                .build());
+    }
+
+    @Test
+    void testFindPageByYear() {
+        TaxForm taxForm2 = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 2")
+                .formYear(2024)
+                .status(TaxFormStatus.NOT_STARTED)
+                .build());
+        TaxForm taxForm3 = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 3")
+                .formYear(2024)
+                .status(TaxFormStatus.NOT_STARTED)
+                .build());
+
+        TaxFormPageDto firstPage = taxFormService.findPageByYear(2024, null, 2);
+        assertThat(firstPage.getItems())
+                .extracting(TaxFormDto::getId)
+                .containsExactly(taxForm.getId(), taxForm2.getId());
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        TaxFormPageDto lastPage = taxFormService.findPageByYear(2024, firstPage.getNextCursor(), 2);
+        assertThat(lastPage.getItems())
+                .extracting(TaxFormDto::getId)
+                .containsExactly(taxForm3.getId());
+        assertThat(lastPage.getNextCursor()).isNull();
+
+        assertThat(taxFormService.findPageByYear(2025, null, 2).getItems()).isEmpty();
+    }
+
+    @Test
+    void testFindPageByYearHandlesInvalidRequest() {
+        assertThatThrownBy(() -> taxFormService.findPageByYear(2024, null, 0))
+                .isInstanceOf(TaxFormPageRequestException.class);
+        assertThatThrownBy(() -> taxFormService.findPageByYear(2024, "not-a-cursor", 10))
+                .isInstanceOf(TaxFormPageRequestException.class);
+    }
+
+    @Test
+    void testFindChanges() {
+        TaxForm taxForm2 = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 2")
+                .formYear(2025)
+                .status(TaxFormStatus.NOT_STARTED)
+                .build());
+        testEntityManager.flush();
+        doReturn(List.of(change(taxForm.getId(), 10L), change(taxForm2.getId(), 10L)))
+                .when(taxFormRepository).findChangesAfter(0L, 0, 2);
+        doReturn(List.of(change(taxForm.getId(), 12L)))
+                .when(taxFormRepository).findChangesAfter(10L, taxForm2.getId(), 2);
+        doReturn(List.of()).when(taxFormRepository).findChangesAfter(12L, taxForm.getId(), 2);
+
+        TaxFormPageDto firstPage = taxFormService.findChanges(null, 2);
+        assertThat(firstPage.getItems())
+                .extracting(TaxFormDto::getId)
+                .containsExactlyInAnyOrder(taxForm.getId(), taxForm2.getId());
+        assertThat(firstPage.getNextCursor()).isEqualTo(TaxFormCursorUtils.encodeChange(10L, taxForm2.getId()));
+
+        TaxFormPageDto lastPage = taxFormService.findChanges(firstPage.getNextCursor(), 2);
+        assertThat(lastPage.getItems())
+                .extracting(TaxFormDto::getId)
+                .containsExactly(taxForm.getId());
+
+        TaxFormPageDto emptyPage = taxFormService.findChanges(lastPage.getNextCursor(), 2);
+        assertThat(emptyPage.getItems()).isEmpty();
+        assertThat(emptyPage.getNextCursor()).isEqualTo(lastPage.getNextCursor());
+    }
+
+    @Test
+    void testFindChangesHandlesInvalidRequest() {
+        assertThatThrownBy(() -> taxFormService.findChanges(null, 0))
+                .isInstanceOf(TaxFormPageRequestException.class);
+        assertThatThrownBy(() -> taxFormService.findChanges("not-a-cursor", 10))
+                .isInstanceOf(TaxFormPageRequestException.class);
+    }
+
+    @Test
+    void testSummarizeByYear() {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        doReturn(List.of(
+                projectionFactory.createProjection(TaxFormStatusCount.class, Map.of(
+                        "status", "SUBMITTED",
+                        "formCount", 2L,
+                        "assessedValue", 300L,
+                        "appraisedValue", 3000L)),
+                projectionFactory.createProjection(TaxFormStatusCount.class, Map.of(
+                        "status", "NOT_STARTED",
+                        "formCount", 1L))
+        )).when(taxFormRepository).countByStatusForFormYear(2024);
+
+        TaxFormYearSummaryDto summary = taxFormService.summarizeByYear(2024);
+
+        assertThat(summary.getFormYear()).isEqualTo(2024);
+        assertThat(summary.getCount()).isEqualTo(3);
+        assertThat(summary.getAssessedValue()).isEqualTo(300);
+        assertThat(summary.getAppraisedValue()).isEqualTo(3000);
+        assertThat(summary.getStatuses())
+                .extracting(TaxFormStatusSummaryDto::getStatus)
+                .containsExactly(TaxFormStatus.values());
+        assertThat(summary.getStatuses())
+                .contains(TaxFormStatusSummaryDto.builder()
+                        .status(TaxFormStatus.NOT_STARTED)
+                        .count(1)
+                        .build())
+                .contains(TaxFormStatusSummaryDto.builder()
+                        .status(TaxFormStatus.ACCEPTED)
+                        .build());
+    }
+
+    @Test
+    void testExportByYear() {
+        taxFormHistoryRepository.save(TaxFormHistory.builder()
+                .taxForm(taxForm)
+                .type(TaxFormHistoryType.SUBMITTED)
+                .build());
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<TaxFormDto> exported = new ArrayList<>();
+        taxFormService.exportByYear(2024, exported::add);
+
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).getId()).isEqualTo(taxForm.getId());
+        assertThat(exported.get(0).getHistory()).hasSize(1);
+
+        exported.clear();
+        taxFormService.exportByYear(2025, exported::add);
+        assertThat(exported).isEmpty();
+    }
+
     @Test
     void testFindById() {
         assertThat(taxFormService.findById(taxForm.getId())).isEqualTo(Optional.of(taxFormDto));
         assertThat(taxFormService.findById(0)).isEmpty();
     }
 
+    @Test
+    void testFindSummaryById() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        assertThat(taxFormService.findSummaryById(taxForm.getId()))
+                .hasValueSatisfying(summary -> assertThat(summary.getVersion()).isEqualTo(taxForm.getVersion()));
+        assertThat(taxFormService.findSummaryById(0)).isEmpty();
+    }
+
     @Test
     void testSave() {
         TaxFormDetailsDto taxFormDetailsDto = TaxFormDetailsDto.builder()
@@ -94,11 +405,11 @@ public class TaxFormServiceTest extends AbstractServiceTest {
                 .comments("Testing")
                 .build();
 
-        Optional<TaxFormDto> taxFormDto1 = taxFormService.save(taxForm.getId(), taxFormDetailsRequest);
+        Optional<TaxFormDto> taxFormDto1 = taxFormService.save(taxForm.getId(), null, taxFormDetailsRequest);
         assertThat(taxFormDto1).isPresent();
         assertThat(taxFormDto1.get().getDetails()).isEqualTo(taxFormDetailsDto);
 
-        assertThat(taxFormService.save(0, taxFormDetailsRequest)).isEmpty();
+        assertThat(taxFormService.save(0, null, taxFormDetailsRequest)).isEmpty();
     }
 
     @ParameterizedTest
@@ -114,11 +425,83 @@ public class TaxFormServiceTest extends AbstractServiceTest {
                 TaxFormStatus.IN_PROGRESS
         );
 
-        assertThatThrownBy(() -> taxFormService.save(taxForm.getId(), taxFormDetailsRequest))
+        assertThatThrownBy(() -> taxFormService.save(taxForm.getId(), null, taxFormDetailsRequest))
                 .isInstanceOf(TaxFormStatusException.class)
                 .hasMessage(taxFormStatusException.getMessage());
     }
     
+    @Test
+    void testSaveHandlesStaleVersion() {
+        assertThatThrownBy(() -> taxFormService.save(taxForm.getId(), taxForm.getVersion() + 1, taxFormDetailsRequest))
+                .isInstanceOf(TaxFormVersionException.class);
+
+        Optional<TaxFormDto> saved = taxFormService.save(taxForm.getId(), taxForm.getVersion(), taxFormDetailsRequest);
+        assertThat(saved).isPresent();
+        assertThat(saved.get().getVersion()).isEqualTo(taxFormDto.getVersion() + 1);
+    }
+
+    @Test
+    void testMergeDetails() {
+        ObjectNode detailsPatch = JsonNodeFactory.instance.objectNode()
+                .put("comments", "patched");
+        doReturn(Optional.of(TaxFormStatus.RETURNED.name())).when(taxFormRepository).mergeDetails(
+                eq(taxForm.getId()),
+                anyString(),
+                anyBoolean(),
+                anyString(),
+                anyCollection(),
+                isNull(),
+                any()
+        );
+
+        Optional<TaxFormSummaryDto> result = taxFormService.mergeDetails(taxForm.getId(), null, detailsPatch, false);
+
+        assertThat(result).get()
+                .extracting(TaxFormSummaryDto::getId)
+                .isEqualTo(taxForm.getId());
+        verify(taxFormRepository).mergeDetails(
+                eq(taxForm.getId()),
+                eq("{\"comments\":\"patched\"}"),
+                eq(false),
+                eq(TaxFormStatus.IN_PROGRESS.name()),
+                eq(List.of(TaxFormStatus.NOT_STARTED.name(), TaxFormStatus.IN_PROGRESS.name(), TaxFormStatus.RETURNED.name())),
+                isNull(),
+                any()
+        );
+        verify(taxFormRepository, never()).findById(anyInt());
+        assertThat(meterRegistry.get(TaxFormMetrics.TRANSITIONS)
+                .tags("from", TaxFormStatus.RETURNED.name(), "to", TaxFormStatus.IN_PROGRESS.name())
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void testMergeDetailsRejectedUpdate() {
+        ObjectNode detailsPatch = JsonNodeFactory.instance.objectNode()
+                .put("comments", "patched");
+        doReturn(Optional.empty()).when(taxFormRepository).mergeDetails(any(), anyString(), anyBoolean(), anyString(), anyCollection(), any(), any());
+        taxForm.setStatus(TaxFormStatus.SUBMITTED);
+        taxFormRepository.saveAndFlush(taxForm);
+
+        assertThatThrownBy(() -> taxFormService.mergeDetails(taxForm.getId(), null, detailsPatch, false))
+                .isInstanceOf(TaxFormStatusException.class);
+        assertThatThrownBy(() -> taxFormService.mergeDetails(taxForm.getId(), taxForm.getVersion() + 1, detailsPatch, false))
+                .isInstanceOf(TaxFormVersionException.class);
+        assertThat(taxFormService.mergeDetails(0, null, detailsPatch, false)).isEmpty();
+    }
+
+    @Test
+    void testMergeDetailsRejectsIncompletePatchWithoutDetails() {
+        ObjectNode detailsPatch = JsonNodeFactory.instance.objectNode()
+                .put("comments", "patched");
+        doReturn(Optional.empty()).when(taxFormRepository).mergeDetails(any(), anyString(), anyBoolean(), anyString(), anyCollection(), any(), any());
+
+        assertThatThrownBy(() -> taxFormService.mergeDetails(taxForm.getId(), null, detailsPatch, false))
+                .isInstanceOf(TaxFormPatchException.class);
+        assertThatThrownBy(() -> taxFormService.mergeDetails(taxForm.getId(), null, detailsPatch, true))
+                .isInstanceOf(TaxFormStatusException.class);
+    }
+
     @Test
     void testSaveWithInvalidRequest() {
         TaxFormDetailsRequest invalidRequest = TaxFormDetailsRequest.builder()
@@ -141,30 +524,77 @@ public class TaxFormServiceTest extends AbstractServiceTest {
     @Test
     void testSubmitForm() {
     	taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
-		Optional<TaxFormDto> result = taxFormService.submitForm(taxForm.getId());
+		Optional<TaxFormDto> result = taxFormService.submitForm(taxForm.getId(), null);
 		assertTrue(result.isPresent());
 		assertEquals(TaxFormStatus.SUBMITTED, result.get().getStatus());
 		verify(taxFormHistoryRepository).save(any(TaxFormHistory.class));
     }
     
+    @Test
+    void testSubmitFormPublishesTransition() {
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+        taxFormService.submitForm(taxForm.getId(), null);
+
+        assertThat(applicationEvents.stream(TaxFormTransitionedEvent.class))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getFormYear()).isEqualTo(2024);
+                    assertThat(event.getStatus()).isEqualTo(TaxFormStatus.SUBMITTED);
+                    assertThat(event.getHistory().getId()).isNotNull();
+                    assertThat(event.getHistory().getTaxFormId()).isEqualTo(taxForm.getId());
+                    assertThat(event.getHistory().getType()).isEqualTo(TaxFormHistoryType.SUBMITTED);
+                });
+    }
+
     @Test
     void testSubmitFormInvalidWorkflow() {
         //taxForm status is NOT_STARTED
-    	assertThrows(TaxFormStatusException.class, () -> taxFormService.submitForm(taxForm.getId()));
+    	assertThrows(TaxFormStatusException.class, () -> taxFormService.submitForm(taxForm.getId(), null));
     	assertEquals(TaxFormStatus.NOT_STARTED, taxForm.getStatus());
         verify(taxFormHistoryRepository, never()).save(any(TaxFormHistory.class));
     }
     
+    @Test
+    void testSubmitFormUpdatesStatusConditionally() {
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+        assertThat(taxFormService.submitForm(taxForm.getId(), null)).isPresent();
+
+        verify(taxFormRepository).updateStatus(
+                eq(taxForm.getId()),
+                eq(TaxFormStatus.SUBMITTED),
+                eq(TaxFormStatus.IN_PROGRESS),
+                isNull(),
+                any()
+        );
+        verify(taxFormRepository, never()).findById(anyInt());
+        verify(taxFormRepository, never()).save(any(TaxForm.class));
+    }
+
+    @Test
+    void testSubmitFormHandlesStaleVersion() {
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+        testEntityManager.flush();
+
+        assertThatThrownBy(() -> taxFormService.submitForm(taxForm.getId(), taxForm.getVersion() + 1))
+                .isInstanceOf(TaxFormVersionException.class);
+        verify(taxFormHistoryRepository, never()).save(any(TaxFormHistory.class));
+
+        Optional<TaxFormDto> result = taxFormService.submitForm(taxForm.getId(), taxForm.getVersion());
+        assertThat(result).isPresent();
+        assertThat(result.get().getStatus()).isEqualTo(TaxFormStatus.SUBMITTED);
+        assertThat(result.get().getVersion()).isEqualTo(taxForm.getVersion() + 1);
+    }
+
     @Test
     void testSubmitFormIdNotFound() {
-    	Optional<TaxFormDto> result = taxFormService.submitForm(0);
+    	Optional<TaxFormDto> result = taxFormService.submitForm(0, null);
     	assertThat(result).isEmpty();
     }
     
     @Test
     void testReturnForm() {
     	taxForm.setStatus(TaxFormStatus.SUBMITTED);
-		Optional<TaxFormDto> result = taxFormService.returnForm(taxForm.getId());
+		Optional<TaxFormDto> result = taxFormService.returnForm(taxForm.getId(), null);
 		assertTrue(result.isPresent());
 		assertEquals(TaxFormStatus.RETURNED, result.get().getStatus());
 		verify(taxFormHistoryRepository).save(any(TaxFormHistory.class));
@@ -173,21 +603,21 @@ public class TaxFormServiceTest extends AbstractServiceTest {
     @Test
     void testReturnFormInvalidWorkflow() {
         //taxForm status is NOT_STARTED
-    	assertThrows(TaxFormStatusException.class, () -> taxFormService.returnForm(taxForm.getId()));
+    	assertThrows(TaxFormStatusException.class, () -> taxFormService.returnForm(taxForm.getId(), null));
     	assertEquals(TaxFormStatus.NOT_STARTED, taxForm.getStatus());
         verify(taxFormHistoryRepository, never()).save(any(TaxFormHistory.class));
     }
     
     @Test
     void testReturnFormIdNotFound() {
-    	Optional<TaxFormDto> result = taxFormService.returnForm(0);
+    	Optional<TaxFormDto> result = taxFormService.returnForm(0, null);
     	assertThat(result).isEmpty();
     }
     
     @Test
     void testAcceptForm() {
     	taxForm.setStatus(TaxFormStatus.SUBMITTED);
-		Optional<TaxFormDto> result = taxFormService.acceptForm(taxForm.getId());
+		Optional<TaxFormDto> result = taxFormService.acceptForm(taxForm.getId(), null);
 		assertTrue(result.isPresent());
 		assertEquals(TaxFormStatus.ACCEPTED, result.get().getStatus());
 		verify(taxFormHistoryRepository).save(any(TaxFormHistory.class));
@@ -196,14 +626,120 @@ public class TaxFormServiceTest extends AbstractServiceTest {
     @Test
     void testAcceptFormInvalidWorkflow() {
         //taxForm status is NOT_STARTED
-    	assertThrows(TaxFormStatusException.class, () -> taxFormService.acceptForm(taxForm.getId()));
+    	assertThrows(TaxFormStatusException.class, () -> taxFormService.acceptForm(taxForm.getId(), null));
     	assertEquals(TaxFormStatus.NOT_STARTED, taxForm.getStatus());
         verify(taxFormHistoryRepository, never()).save(any(TaxFormHistory.class));
     }
     
     @Test
     void testAcceptFormIdNotFound() {
-    	Optional<TaxFormDto> result = taxFormService.acceptForm(0);
+    	Optional<TaxFormDto> result = taxFormService.acceptForm(0, null);
     	assertThat(result).isEmpty();
     }
+
+    @Test
+    void testTransitionAll() {
+        TaxForm submitted = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 2")
+                .formYear(2024)
+                .status(TaxFormStatus.SUBMITTED)
+                .build());
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+
+        List<TaxFormTransitionResultDto> results = taxFormService.transitionAll(List.of(
+                new TaxFormTransitionRequest(taxForm.getId(), TaxFormAction.SUBMIT),
+                new TaxFormTransitionRequest(submitted.getId(), TaxFormAction.RETURN),
+                new TaxFormTransitionRequest(submitted.getId(), TaxFormAction.ACCEPT),
+                new TaxFormTransitionRequest(0, TaxFormAction.ACCEPT)
+        ));
+
+        assertThat(results)
+                .extracting(TaxFormTransitionResultDto::isSuccess)
+                .containsExactly(true, true, false, false);
+        assertThat(results)
+                .extracting(TaxFormTransitionResultDto::getStatus)
+                .containsExactly(TaxFormStatus.SUBMITTED, TaxFormStatus.RETURNED, TaxFormStatus.RETURNED, null);
+        assertThat(results.get(2).getMessage()).isNotBlank();
+        assertThat(results.get(3).getMessage()).isNotBlank();
+        verify(taxFormRepository, times(1)).findAllById(anyCollection());
+        assertThat(taxFormHistoryRepository.findAll()).hasSize(2);
+        assertThat(applicationEvents.stream(TaxFormTransitionedEvent.class))
+                .extracting(TaxFormTransitionedEvent::getStatus)
+                .containsExactly(TaxFormStatus.SUBMITTED, TaxFormStatus.RETURNED);
+    }
+
+    @Test
+    void testTransitionAllWritesOutbox() {
+        taxFormsApiProperties.getOutbox().setEnabled(true);
+        TaxForm submitted = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 2")
+                .formYear(2024)
+                .status(TaxFormStatus.SUBMITTED)
+                .build());
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+
+        taxFormService.transitionAll(List.of(
+                new TaxFormTransitionRequest(taxForm.getId(), TaxFormAction.SUBMIT),
+                new TaxFormTransitionRequest(submitted.getId(), TaxFormAction.ACCEPT)
+        ));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        assertThat(taxFormOutboxRepository.findAll())
+                .extracting(TaxFormOutbox::getTaxFormId, TaxFormOutbox::getType, outbox -> outbox.getPayload().getStatus())
+                .containsExactlyInAnyOrder(
+                        tuple(taxForm.getId(), TaxFormHistoryType.SUBMITTED, TaxFormStatus.SUBMITTED),
+                        tuple(submitted.getId(), TaxFormHistoryType.ACCEPTED, TaxFormStatus.ACCEPTED)
+                );
+        assertThat(taxFormOutboxRepository.findAll())
+                .allSatisfy(outbox -> assertThat(outbox.getPayload().getHistory().getId()).isNotNull())
+                .allSatisfy(outbox -> assertThat(outbox.getPayload().getVersion())
+                        .isEqualTo(taxFormRepository.findById(outbox.getTaxFormId()).orElseThrow().getVersion()));
+    }
+
+    @Test
+    void testTransitionSkipsOutboxWhenDisabled() {
+        taxForm.setStatus(TaxFormStatus.IN_PROGRESS);
+        taxFormService.submitForm(taxForm.getId(), null);
+
+        assertThat(taxFormOutboxRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void testTransitionAllBatchesWrites() {
+        List<TaxFormTransitionRequest> transitions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TaxForm submitted = taxFormRepository.save(TaxForm.builder()
+                    .formName("Test Form " + (i + 2))
+                    .formYear(2024)
+                    .status(TaxFormStatus.SUBMITTED)
+                    .build());
+            transitions.add(new TaxFormTransitionRequest(submitted.getId(), TaxFormAction.ACCEPT));
+        }
+
+        assertThat(countStatements(() -> {
+            taxFormService.transitionAll(transitions);
+            testEntityManager.flush();
+        })).isLessThan(transitions.size());
+    }
+
+    private long countStatements(Runnable runnable) {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Statistics statistics = testEntityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        runnable.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private TaxFormChange change(Integer id, Long writeXid) {
+        return new SpelAwareProxyProjectionFactory().createProjection(TaxFormChange.class, Map.of(
+                "id", id,
+                "writeXid", writeXid));
+    }
 }
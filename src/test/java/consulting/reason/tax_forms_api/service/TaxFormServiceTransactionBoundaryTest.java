@@ -0,0 +1,96 @@
+package consulting.reason.tax_forms_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import consulting.reason.tax_forms_api.AbstractServiceTest;
+import consulting.reason.tax_forms_api.cache.TaxFormCache;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.dto.TaxFormDto;
+import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.entity.TaxFormHistory;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.repository.TaxFormHistoryRepository;
+import consulting.reason.tax_forms_api.repository.TaxFormRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Runs without a test transaction so every service call commits and closes its session, as with open-in-view disabled
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        TaxFormCache.class,
+        TaxFormServiceImpl.class,
+        TaxFormsApiProperties.class,
+        TaxFormMetrics.class,
+        SimpleMeterRegistry.class
+})
+public class TaxFormServiceTransactionBoundaryTest extends AbstractServiceTest {
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .build();
+    @Autowired
+    private TaxFormRepository taxFormRepository;
+    @Autowired
+    private TaxFormHistoryRepository taxFormHistoryRepository;
+    @Autowired
+    private TaxFormService taxFormService;
+    private TaxForm taxForm;
+
+    @BeforeEach
+    void before() {
+        taxForm = taxFormRepository.save(TaxForm.builder()
+                .formName("Test Form 1")
+                .formYear(2024)
+                .status(TaxFormStatus.SUBMITTED)
+                .build());
+        taxFormHistoryRepository.save(TaxFormHistory.builder()
+                .taxForm(taxForm)
+                .type(TaxFormHistoryType.SUBMITTED)
+                .build());
+    }
+
+    @AfterEach
+    void after() {
+        taxFormHistoryRepository.deleteAll();
+        taxFormRepository.deleteAll();
+    }
+
+    @Test
+    void testLazyLoadOutsideTransactionFails() {
+        TaxForm detached = taxFormRepository.findById(taxForm.getId()).orElseThrow();
+
+        assertThatThrownBy(() -> detached.getHistory().size())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    void testServiceReturnsMaterializedDtos() throws Exception {
+        List<TaxFormDto> taxFormDtos = new ArrayList<>();
+        taxFormDtos.addAll(taxFormService.findAllByYear(2024));
+        taxFormDtos.add(taxFormService.findById(taxForm.getId()).orElseThrow());
+        taxFormDtos.addAll(taxFormService.findPageByYear(2024, null, 10).getItems());
+        taxFormService.exportByYear(2024, taxFormDtos::add);
+        taxFormDtos.add(taxFormService.returnForm(taxForm.getId(), null).orElseThrow());
+
+        for (TaxFormDto taxFormDto : taxFormDtos) {
+            assertThat(taxFormDto.getHistory()).isNotEmpty();
+            assertThat(objectMapper.writeValueAsString(taxFormDto)).contains("\"history\"");
+        }
+    }
+}
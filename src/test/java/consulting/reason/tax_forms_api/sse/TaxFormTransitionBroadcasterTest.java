@@ -0,0 +1,157 @@
+package consulting.reason.tax_forms_api.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import consulting.reason.tax_forms_api.config.TaxFormsApiProperties;
+import consulting.reason.tax_forms_api.controller.Endpoints;
+import consulting.reason.tax_forms_api.controller.TaxFormController;
+import consulting.reason.tax_forms_api.dto.TaxFormHistoryDto;
+import consulting.reason.tax_forms_api.enums.TaxFormHistoryType;
+import consulting.reason.tax_forms_api.enums.TaxFormStatus;
+import consulting.reason.tax_forms_api.event.TaxFormTransitionedEvent;
+import consulting.reason.tax_forms_api.exception.TaxFormStreamUnavailableException;
+import consulting.reason.tax_forms_api.metrics.TaxFormMetrics;
+import consulting.reason.tax_forms_api.service.TaxFormService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+
+public class TaxFormTransitionBroadcasterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private TaxFormTransitionBroadcaster broadcaster;
+
+    @AfterEach
+    void after() {
+        released.countDown();
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    void testStreamsMatchingTransitions() throws Exception {
+        MockMvc mockMvc = mockMvc(broadcaster(10, 10), new MappingJackson2HttpMessageConverter());
+        MvcResult result = mockMvc.perform(get(Endpoints.FORMS + "/transitions")
+                        .param("year", "2024")
+                        .param("status", "SUBMITTED")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        broadcaster.onTaxFormTransitioned(event(1, 2024, TaxFormStatus.SUBMITTED));
+        broadcaster.onTaxFormTransitioned(event(2, 2025, TaxFormStatus.SUBMITTED));
+        broadcaster.onTaxFormTransitioned(event(3, 2024, TaxFormStatus.ACCEPTED));
+
+        assertThat(awaitContent(result, "id:1")).contains("event:" + TaxFormTransitionBroadcaster.EVENT_NAME)
+                .doesNotContain("id:2")
+                .doesNotContain("id:3");
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get(TaxFormMetrics.SSE_SUBSCRIBERS).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testDropsSlowSubscriber() throws Exception {
+        MockMvc mockMvc = mockMvc(broadcaster(2, 10), new BlockingConverter());
+        mockMvc.perform(get(Endpoints.FORMS + "/transitions")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        for (int i = 1; i <= 4; i++) {
+            broadcaster.onTaxFormTransitioned(event(i, 2024, TaxFormStatus.SUBMITTED));
+        }
+
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+        assertThat(meterRegistry.get(TaxFormMetrics.SSE_DROPPED)
+                .tag("reason", "slow")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsSubscribersOverCapacity() {
+        broadcaster = broadcaster(10, 1);
+
+        broadcaster.subscribe(null, null);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(null, null))
+                .isInstanceOf(TaxFormStreamUnavailableException.class);
+    }
+
+    private TaxFormTransitionBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+        TaxFormsApiProperties taxFormsApiProperties = new TaxFormsApiProperties();
+        taxFormsApiProperties.getSse().setBufferSize(bufferSize);
+        taxFormsApiProperties.getSse().setMaxSubscribers(maxSubscribers);
+        broadcaster = new TaxFormTransitionBroadcaster(taxFormsApiProperties, new TaxFormMetrics(meterRegistry));
+
+        return broadcaster;
+    }
+
+    @SuppressWarnings("unchecked")
+    private MockMvc mockMvc(TaxFormTransitionBroadcaster broadcaster, HttpMessageConverter<?> converter) {
+        TaxFormController taxFormController = new TaxFormController(
+                mock(TaxFormService.class),
+                new ObjectMapper(),
+                mock(Validator.class),
+                mock(ObjectProvider.class),
+                broadcaster
+        );
+
+        return MockMvcBuilders.standaloneSetup(taxFormController)
+                .setMessageConverters(new StringHttpMessageConverter(), converter)
+                .build();
+    }
+
+    private TaxFormTransitionedEvent event(Integer id, Integer formYear, TaxFormStatus status) {
+        return new TaxFormTransitionedEvent(formYear, status, TaxFormHistoryDto.builder()
+                .id(id)
+                .taxFormId(id)
+                .type(TaxFormHistoryType.valueOf(status.name()))
+                .build());
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws UnsupportedEncodingException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+
+        return content;
+    }
+
+    private class BlockingConverter extends MappingJackson2HttpMessageConverter {
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package consulting.reason.tax_forms_api.util;
 
 import consulting.reason.tax_forms_api.entity.TaxForm;
+import consulting.reason.tax_forms_api.enums.TaxFormAction;
 import consulting.reason.tax_forms_api.enums.TaxFormStatus;
 import consulting.reason.tax_forms_api.exception.TaxFormStatusException;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.EnumSet;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -130,4 +133,26 @@ public class TaxFormStatusUtilsTest {
         .isInstanceOf(TaxFormStatusException.class)
         .hasMessage(taxFormStatusException.getMessage());
     }
+
+    @ParameterizedTest
+    @EnumSource(TaxFormStatus.class)
+    void testCanTransitionMatchesAllowedFrom(TaxFormStatus to) {
+        for (TaxFormStatus from : TaxFormStatus.values()) {
+            assertThat(TaxFormStatusUtils.canTransition(from, to))
+                    .isEqualTo(TaxFormStatusUtils.allowedFrom(to).contains(from));
+        }
+    }
+
+    @Test
+    void testAllowedFrom() {
+        assertThat(TaxFormStatusUtils.allowedFrom(TaxFormStatus.NOT_STARTED)).isEmpty();
+        assertThat(TaxFormStatusUtils.allowedFrom(TaxFormStatus.IN_PROGRESS))
+                .isEqualTo(EnumSet.of(TaxFormStatus.NOT_STARTED, TaxFormStatus.IN_PROGRESS, TaxFormStatus.RETURNED));
+        assertThat(TaxFormStatusUtils.allowedFrom(TaxFormAction.SUBMIT))
+                .isEqualTo(EnumSet.of(TaxFormStatus.IN_PROGRESS));
+        assertThat(TaxFormStatusUtils.allowedFrom(TaxFormAction.RETURN))
+                .isEqualTo(EnumSet.of(TaxFormStatus.SUBMITTED));
+        assertThat(TaxFormStatusUtils.allowedFrom(TaxFormAction.ACCEPT))
+                .isEqualTo(EnumSet.of(TaxFormStatus.SUBMITTED));
+    }
 }